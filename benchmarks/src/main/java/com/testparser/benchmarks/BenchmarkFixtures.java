@@ -0,0 +1,116 @@
+package com.testparser.benchmarks;
+
+import com.testparser.generator.ProjectGenerator;
+import com.testparser.models.PageObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic in-memory inputs for the micro benchmarks; whole projects come from the generator
+ */
+public final class BenchmarkFixtures {
+    
+    private static final String[] WORDS = {
+        "search", "login", "password", "submit", "product", "cart", "checkout", "title",
+        "error", "banner", "email", "menu", "filter", "price", "review", "address"
+    };
+    private static final String[] KINDS = {"Button", "Field", "Link", "Label", "Icon", "Message"};
+    
+    private BenchmarkFixtures() {
+    }
+    
+    public static String pageClassName(int page) {
+        return "Section" + page + "Page";
+    }
+    
+    public static String pageVariableName(int page) {
+        return "section" + page + "Page";
+    }
+    
+    /**
+     * Element name unique across the whole fixture, e.g. "searchButton17"
+     */
+    public static String elementName(int page, int element) {
+        int n = page * 31 + element;
+        return WORDS[n % WORDS.length] + KINDS[(n / WORDS.length) % KINDS.length] + n;
+    }
+    
+    /**
+     * Page objects in the same shape the page object extractor produces
+     */
+    public static Map<String, PageObject> pageObjects(int pageCount, int elementsPerPage) {
+        Map<String, PageObject> pageObjects = new LinkedHashMap<>();
+        for (int page = 0; page < pageCount; page++) {
+            Map<String, String> elements = new LinkedHashMap<>();
+            for (int element = 0; element < elementsPerPage; element++) {
+                String name = elementName(page, element);
+                elements.put(name, "By.id(\"" + name + "\")");
+            }
+            pageObjects.put(pageClassName(page), new PageObject(pageClassName(page), elements));
+        }
+        return pageObjects;
+    }
+    
+    public static Map<String, String> configUrls(int urlCount) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (int i = 0; i < urlCount; i++) {
+            urls.put(WORDS[i % WORDS.length] + i + "Url", "https://shop.example.com/" + WORDS[i % WORDS.length] + "/" + i);
+        }
+        return urls;
+    }
+    
+    /**
+     * One statement of a test method body. Cycles through page object actions, boolean and
+     * equality assertions, direct By locators and calls that match no element at all.
+     */
+    public static String statement(int index, int pageCount, int elementsPerPage) {
+        int page = (index * 7) % pageCount;
+        String scope = pageVariableName(page);
+        String element = elementName(page, (index * 3) % elementsPerPage);
+        String capitalized = Character.toUpperCase(element.charAt(0)) + element.substring(1);
+        
+        switch (index % 6) {
+            case 0:
+                return scope + ".click" + capitalized + "();";
+            case 1:
+                return scope + ".enter" + capitalized + "(\"value" + index + "\");";
+            case 2:
+                return "assertTrue(" + scope + ".is" + capitalized + "Displayed());";
+            case 3:
+                return "assertEquals(" + scope + ".get" + capitalized + "Text(), \"expected" + index + "\");";
+            case 4:
+                return "driver.findElement(By.id(\"" + element + "\")).click();";
+            default:
+                return "helper.waitForUnknownWidget" + index + "();";
+        }
+    }
+    
+    /**
+     * Page objects of a generated project, as the page object extractor would report them
+     */
+    public static Map<String, PageObject> pageObjects(ProjectGenerator generator, int pageCount) {
+        Map<String, PageObject> pageObjects = new LinkedHashMap<>();
+        for (int page = 0; page < pageCount; page++) {
+            String className = generator.pageClassName(page);
+            pageObjects.put(className, new PageObject(className, generator.pageElements(page)));
+        }
+        return pageObjects;
+    }
+    
+    public static void deleteRecursively(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.testparser.benchmarks;
+
+import com.testparser.utils.ConfigPropertiesReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test name to config URL matching, per test name
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigUrlBenchmark {
+    
+    private static final String[] TEST_NAMES = {
+        "search0Url", "loginWithValidCredentials", "addProductToCart", "checkoutAsGuest",
+        "openHomePage", "filterByPrice", "registerNewAccount", "unmatchedScenario"
+    };
+    
+    @Param({"5", "50", "500"})
+    public int configUrls;
+    
+    private Map<String, String> urls;
+    
+    @Setup
+    public void setUp() {
+        urls = BenchmarkFixtures.configUrls(configUrls);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void findMatchingUrl(Blackhole blackhole) {
+        for (String testName : TEST_NAMES) {
+            blackhole.consume(ConfigPropertiesReader.findMatchingUrl(testName, urls));
+        }
+    }
+}
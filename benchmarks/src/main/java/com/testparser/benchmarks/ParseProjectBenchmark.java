@@ -0,0 +1,98 @@
+package com.testparser.benchmarks;
+
+import com.testparser.ParserOptions;
+import com.testparser.TestCaseParser;
+import com.testparser.generator.GeneratorSettings;
+import com.testparser.generator.ProjectGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end parseProject over a generated project in a temporary directory
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseProjectBenchmark {
+    
+    @Param({"50"})
+    public int pageObjects;
+    
+    @Param({"15"})
+    public int elementsPerPage;
+    
+    @Param({"20", "200"})
+    public int testClasses;
+    
+    @Param({"10"})
+    public int testsPerClass;
+    
+    @Param({"2"})
+    public int dataDrivenClasses;
+    
+    @Param({"10"})
+    public int statementsPerMethod;
+    
+    @Param({"1", "4"})
+    public int threads;
+    
+    private Path directory;
+    private Path project;
+    private String outputFile;
+    private ParserOptions options;
+    private PrintStream originalOut;
+    
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("testparser-bench");
+        project = directory.resolve("project");
+        GeneratorSettings settings = new GeneratorSettings();
+        settings.setPageObjects(pageObjects);
+        settings.setElementsPerPage(elementsPerPage);
+        settings.setTestClasses(testClasses);
+        settings.setTestsPerClass(testsPerClass);
+        settings.setDataDrivenClasses(dataDrivenClasses);
+        settings.setStatementsPerMethod(statementsPerMethod);
+        new ProjectGenerator(settings).generate(project);
+        outputFile = directory.resolve("output.json").toString();
+        
+        options = new ParserOptions();
+        options.setWorkerCount(threads);
+        options.setCompactOutput(true);
+        
+        // parseProject reports progress on stdout, which would drown the JMH output
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        BenchmarkFixtures.deleteRecursively(directory);
+    }
+    
+    @Benchmark
+    public void parseProject() throws IOException {
+        TestCaseParser.parseProject(project.toString(), outputFile, options);
+    }
+}
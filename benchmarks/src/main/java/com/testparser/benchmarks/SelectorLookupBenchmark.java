@@ -0,0 +1,91 @@
+package com.testparser.benchmarks;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.testparser.extractors.ElementSelectorFinder;
+import com.testparser.extractors.PageObjectIndex;
+import com.testparser.extractors.SemanticMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selector resolution for a fixed mix of method calls, per call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectorLookupBenchmark {
+    
+    private static final int CALLS = 60;
+    
+    @Param({"10", "100", "600"})
+    public int pageObjects;
+    
+    @Param({"15"})
+    public int elementsPerPage;
+    
+    private final ElementSelectorFinder selectorFinder = new ElementSelectorFinder();
+    private final SemanticMatcher semanticMatcher = new SemanticMatcher();
+    private PageObjectIndex index;
+    private List<MethodCallExpr> calls;
+    
+    @Setup
+    public void setUp() {
+        index = new PageObjectIndex(BenchmarkFixtures.pageObjects(pageObjects, elementsPerPage));
+        calls = new ArrayList<>();
+        for (int i = 0; i < CALLS; i++) {
+            // The outermost call of each statement is the one the step extractor classifies
+            String statement = BenchmarkFixtures.statement(i, pageObjects, elementsPerPage);
+            calls.add(StaticJavaParser.parseStatement(statement).findFirst(MethodCallExpr.class).orElseThrow());
+        }
+    }
+    
+    /**
+     * A fresh finder per invocation, so every call runs the full strategy chain
+     */
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void findElementSelector(Blackhole blackhole) {
+        ElementSelectorFinder coldFinder = new ElementSelectorFinder();
+        for (MethodCallExpr call : calls) {
+            blackhole.consume(coldFinder.findElementSelector(call, index));
+        }
+    }
+    
+    /**
+     * A finder shared across invocations, so every call after the first is a resolution cache hit
+     */
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void findElementSelectorMemoized(Blackhole blackhole) {
+        for (MethodCallExpr call : calls) {
+            blackhole.consume(selectorFinder.findElementSelector(call, index));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void findElementBySemanticMatching(Blackhole blackhole) {
+        for (MethodCallExpr call : calls) {
+            blackhole.consume(semanticMatcher.findElementBySemanticMatching(call.getNameAsString(), index));
+        }
+    }
+}
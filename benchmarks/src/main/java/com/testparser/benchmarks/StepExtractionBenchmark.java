@@ -0,0 +1,66 @@
+package com.testparser.benchmarks;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.testparser.extractors.PageObjectIndex;
+import com.testparser.extractors.TestStepExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Step extraction for every statement of one test method body
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StepExtractionBenchmark {
+    
+    @Param({"10", "100", "600"})
+    public int pageObjects;
+    
+    @Param({"15"})
+    public int elementsPerPage;
+    
+    @Param({"10", "50"})
+    public int statementsPerMethod;
+    
+    private final TestStepExtractor stepExtractor = new TestStepExtractor();
+    private PageObjectIndex index;
+    private List<Statement> statements;
+    
+    @Setup
+    public void setUp() {
+        index = new PageObjectIndex(BenchmarkFixtures.pageObjects(pageObjects, elementsPerPage));
+        StringBuilder body = new StringBuilder("{\n");
+        for (int i = 0; i < statementsPerMethod; i++) {
+            body.append(BenchmarkFixtures.statement(i, pageObjects, elementsPerPage)).append('\n');
+        }
+        BlockStmt block = StaticJavaParser.parseBlock(body.append('}').toString());
+        statements = block.getStatements();
+    }
+    
+    @Benchmark
+    public void analyzeStatement(Blackhole blackhole) {
+        int stepNumber = 1;
+        for (Statement statement : statements) {
+            blackhole.consume(stepExtractor.analyzeStatement(statement, index, stepNumber++));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.testparser.benchmarks;
+
+import com.testparser.extractors.CompilationUnitCache;
+import com.testparser.extractors.PageObjectIndex;
+import com.testparser.extractors.SourceFile;
+import com.testparser.extractors.TestFileParser;
+import com.testparser.generator.GeneratorSettings;
+import com.testparser.generator.ProjectGenerator;
+import com.testparser.models.PageObject;
+import com.testparser.models.TestCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One test file: read, parse and extract, and extraction alone from an already parsed file
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TestFileParserBenchmark {
+    
+    @Param({"10", "100"})
+    public int pageObjects;
+    
+    @Param({"15"})
+    public int elementsPerPage;
+    
+    @Param({"10", "100"})
+    public int testsPerClass;
+    
+    @Param({"10"})
+    public int statementsPerMethod;
+    
+    private final TestFileParser fileParser = new TestFileParser();
+    private Path directory;
+    private File testFile;
+    private SourceFile parsedFile;
+    private Map<String, PageObject> pages;
+    private PageObjectIndex index;
+    private Map<String, String> urls;
+    
+    @Setup
+    public void setUp() throws IOException {
+        GeneratorSettings settings = new GeneratorSettings();
+        settings.setPageObjects(pageObjects);
+        settings.setElementsPerPage(elementsPerPage);
+        settings.setTestsPerClass(testsPerClass);
+        settings.setStatementsPerMethod(statementsPerMethod);
+        ProjectGenerator generator = new ProjectGenerator(settings);
+        
+        pages = BenchmarkFixtures.pageObjects(generator, pageObjects);
+        index = new PageObjectIndex(pages);
+        urls = BenchmarkFixtures.configUrls(16);
+        
+        directory = Files.createTempDirectory("testparser-bench");
+        Path file = directory.resolve(generator.testClassName(0) + ".java");
+        Files.write(file, generator.testClassSource(0).getBytes(StandardCharsets.UTF_8));
+        testFile = file.toFile();
+        parsedFile = new CompilationUnitCache().take(file);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFixtures.deleteRecursively(directory);
+    }
+    
+    @Benchmark
+    public List<TestCase> parseTestFile() throws Exception {
+        List<TestCase> testCases = new ArrayList<>();
+        fileParser.parseTestFile(testFile, testCases, pages, urls);
+        return testCases;
+    }
+    
+    @Benchmark
+    public List<TestCase> extractFromParsedFile() {
+        List<TestCase> testCases = new ArrayList<>();
+        fileParser.parseTestFile(parsedFile, testCases, index, urls);
+        return testCases;
+    }
+}
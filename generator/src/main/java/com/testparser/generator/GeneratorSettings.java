@@ -0,0 +1,70 @@
+package com.testparser.generator;
+
+/**
+ * Sizes of a generated project. The same settings and seed always produce the same files.
+ */
+public class GeneratorSettings {
+    
+    private int pageObjects = 20;
+    private int elementsPerPage = 12;
+    private int testClasses = 20;
+    private int testsPerClass = 10;
+    private int dataDrivenClasses = 2;
+    private int scenariosPerDataDrivenClass = 5;
+    private int statementsPerMethod = 8;
+    private int configUrls = 10;
+    private long seed = 42;
+    
+    public int getPageObjects() { return pageObjects; }
+    public void setPageObjects(int pageObjects) {
+        this.pageObjects = atLeast(1, pageObjects, "Page object count");
+    }
+    
+    public int getElementsPerPage() { return elementsPerPage; }
+    public void setElementsPerPage(int elementsPerPage) {
+        this.elementsPerPage = atLeast(1, elementsPerPage, "Elements per page");
+    }
+    
+    public int getTestClasses() { return testClasses; }
+    public void setTestClasses(int testClasses) {
+        this.testClasses = atLeast(0, testClasses, "Test class count");
+    }
+    
+    public int getTestsPerClass() { return testsPerClass; }
+    public void setTestsPerClass(int testsPerClass) {
+        this.testsPerClass = atLeast(0, testsPerClass, "Tests per class");
+    }
+    
+    /**
+     * Number of classes with a single switch-based @Test method dispatching to scenario methods
+     */
+    public int getDataDrivenClasses() { return dataDrivenClasses; }
+    public void setDataDrivenClasses(int dataDrivenClasses) {
+        this.dataDrivenClasses = atLeast(0, dataDrivenClasses, "Data-driven class count");
+    }
+    
+    public int getScenariosPerDataDrivenClass() { return scenariosPerDataDrivenClass; }
+    public void setScenariosPerDataDrivenClass(int scenariosPerDataDrivenClass) {
+        this.scenariosPerDataDrivenClass = atLeast(1, scenariosPerDataDrivenClass, "Scenarios per data-driven class");
+    }
+    
+    public int getStatementsPerMethod() { return statementsPerMethod; }
+    public void setStatementsPerMethod(int statementsPerMethod) {
+        this.statementsPerMethod = atLeast(1, statementsPerMethod, "Statements per method");
+    }
+    
+    public int getConfigUrls() { return configUrls; }
+    public void setConfigUrls(int configUrls) {
+        this.configUrls = atLeast(0, configUrls, "Config URL count");
+    }
+    
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    
+    private static int atLeast(int minimum, int value, String name) {
+        if (value < minimum) {
+            throw new IllegalArgumentException(name + " must be at least " + minimum + ": " + value);
+        }
+        return value;
+    }
+}
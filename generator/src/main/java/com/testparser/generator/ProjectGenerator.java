@@ -0,0 +1,434 @@
+package com.testparser.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes synthetic Selenium projects: page objects with @FindBy fields, @Test classes,
+ * switch-based data-driven classes and a config.properties with URLs. Every file draws from
+ * its own random stream derived from the seed and the file name, so output is reproducible.
+ */
+public class ProjectGenerator {
+    
+    private static final String PACKAGE = "com.example.shop";
+    
+    private static final String[] AREAS = {
+        "Login", "Home", "Search", "Product", "Cart", "Checkout", "Account", "Register",
+        "Orders", "Wishlist", "Payment", "Address", "Review", "Support", "Settings", "Category"
+    };
+    private static final String[] THINGS = {
+        "username", "password", "email", "search", "submit", "login", "product", "price",
+        "quantity", "title", "error", "banner", "promo", "filter", "sort", "address",
+        "coupon", "total", "logo", "menu", "review", "rating", "shipping", "payment"
+    };
+    private static final String[] KINDS = {"Button", "Field", "Link", "Label", "Icon", "Message", "Dropdown", "Box"};
+    private static final String[] LOCATORS = {"id", "xpath", "css", "name", "className"};
+    private static final String[] SCENARIO_VERBS = {"verify", "open", "add", "remove", "update", "submit", "filter", "check"};
+    
+    private final GeneratorSettings settings;
+    private final List<PageSpec> pages = new ArrayList<>();
+    
+    public ProjectGenerator(GeneratorSettings settings) {
+        this.settings = settings;
+        for (int page = 0; page < settings.getPageObjects(); page++) {
+            pages.add(createPage(page));
+        }
+    }
+    
+    /**
+     * Main entry point - writes a project to the given directory.
+     */
+    public static void main(String[] args) {
+        GeneratorSettings settings = new GeneratorSettings();
+        List<String> positional = new ArrayList<>();
+        try {
+            parseArguments(args, settings, positional);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            positional.clear();
+        }
+        
+        if (positional.isEmpty()) {
+            System.out.println("Usage: java -jar selenium-test-parser-generator.jar <output-dir> [--pages N] "
+                    + "[--elements N] [--test-classes N] [--tests N] [--data-driven N] [--scenarios N] "
+                    + "[--statements N] [--urls N] [--seed N]");
+            System.exit(1);
+        }
+        
+        try {
+            Path root = Paths.get(positional.get(0));
+            new ProjectGenerator(settings).generate(root);
+            System.out.println("Generated " + settings.getPageObjects() + " page objects, "
+                    + settings.getTestClasses() * settings.getTestsPerClass() + " @Test methods and "
+                    + settings.getDataDrivenClasses() * settings.getScenariosPerDataDrivenClass()
+                    + " data-driven scenarios in: " + root);
+        } catch (IOException e) {
+            System.err.println("Error generating project: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    private static void parseArguments(String[] args, GeneratorSettings settings, List<String> positional) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--pages")) {
+                settings.setPageObjects(intValue(args, ++i, arg));
+            } else if (arg.equals("--elements")) {
+                settings.setElementsPerPage(intValue(args, ++i, arg));
+            } else if (arg.equals("--test-classes")) {
+                settings.setTestClasses(intValue(args, ++i, arg));
+            } else if (arg.equals("--tests")) {
+                settings.setTestsPerClass(intValue(args, ++i, arg));
+            } else if (arg.equals("--data-driven")) {
+                settings.setDataDrivenClasses(intValue(args, ++i, arg));
+            } else if (arg.equals("--scenarios")) {
+                settings.setScenariosPerDataDrivenClass(intValue(args, ++i, arg));
+            } else if (arg.equals("--statements")) {
+                settings.setStatementsPerMethod(intValue(args, ++i, arg));
+            } else if (arg.equals("--urls")) {
+                settings.setConfigUrls(intValue(args, ++i, arg));
+            } else if (arg.equals("--seed")) {
+                String value = optionValue(args, ++i, arg);
+                try {
+                    settings.setSeed(Long.parseLong(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for --seed: " + value);
+                }
+            } else {
+                positional.add(arg);
+            }
+        }
+    }
+    
+    private static int intValue(String[] args, int index, String option) {
+        String value = optionValue(args, index, option);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+        }
+    }
+    
+    private static String optionValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+    
+    /**
+     * Write every page object, test class and the config file below root
+     */
+    public void generate(Path root) throws IOException {
+        String packagePath = PACKAGE.replace('.', '/');
+        Path pageDirectory = Files.createDirectories(root.resolve("src/main/java/" + packagePath + "/pages"));
+        Path testDirectory = Files.createDirectories(root.resolve("src/test/java/" + packagePath + "/tests"));
+        Path resourceDirectory = Files.createDirectories(root.resolve("src/test/resources"));
+        
+        for (int page = 0; page < pages.size(); page++) {
+            write(pageDirectory.resolve(pages.get(page).className + ".java"), pageObjectSource(page));
+        }
+        for (int test = 0; test < settings.getTestClasses(); test++) {
+            write(testDirectory.resolve(testClassName(test) + ".java"), testClassSource(test));
+        }
+        for (int test = 0; test < settings.getDataDrivenClasses(); test++) {
+            write(testDirectory.resolve(dataDrivenClassName(test) + ".java"), dataDrivenClassSource(test));
+        }
+        write(resourceDirectory.resolve("config.properties"), configProperties());
+    }
+    
+    public String pageClassName(int page) {
+        return pages.get(page).className;
+    }
+    
+    /**
+     * Elements of a page object with their selectors formatted the way the parser reports them
+     */
+    public Map<String, String> pageElements(int page) {
+        Map<String, String> elements = new LinkedHashMap<>();
+        for (ElementSpec element : pages.get(page).elements) {
+            elements.put(element.name, "By." + element.locator + "(\"" + element.value + "\")");
+        }
+        return elements;
+    }
+    
+    public String testClassName(int test) {
+        return AREAS[test % AREAS.length] + "Flow" + test + "Test";
+    }
+    
+    public String dataDrivenClassName(int test) {
+        return AREAS[test % AREAS.length] + "Scenarios" + test + "Test";
+    }
+    
+    public String pageObjectSource(int page) {
+        PageSpec spec = pages.get(page);
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(PACKAGE).append(".pages;\n\n")
+              .append("import org.openqa.selenium.WebDriver;\n")
+              .append("import org.openqa.selenium.WebElement;\n")
+              .append("import org.openqa.selenium.support.FindBy;\n")
+              .append("import org.openqa.selenium.support.PageFactory;\n\n")
+              .append("public class ").append(spec.className).append(" {\n\n")
+              .append("    private final WebDriver driver;\n\n");
+        
+        for (ElementSpec element : spec.elements) {
+            source.append("    @FindBy(").append(element.locator).append(" = \"").append(element.value).append("\")\n")
+                  .append("    private WebElement ").append(element.name).append(";\n\n");
+        }
+        
+        source.append("    public ").append(spec.className).append("(WebDriver driver) {\n")
+              .append("        this.driver = driver;\n")
+              .append("        PageFactory.initElements(driver, this);\n")
+              .append("    }\n");
+        
+        for (ElementSpec element : spec.elements) {
+            String capitalized = capitalize(element.name);
+            source.append("\n    public void click").append(capitalized).append("() {\n")
+                  .append("        ").append(element.name).append(".click();\n")
+                  .append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+    
+    public String testClassSource(int test) {
+        String className = testClassName(test);
+        Random random = random(className);
+        List<PageSpec> usedPages = choosePages(random);
+        
+        StringBuilder source = new StringBuilder();
+        appendTestClassHeader(source, className, usedPages);
+        for (int method = 0; method < settings.getTestsPerClass(); method++) {
+            String methodName = SCENARIO_VERBS[random.nextInt(SCENARIO_VERBS.length)]
+                    + AREAS[random.nextInt(AREAS.length)] + capitalize(THINGS[random.nextInt(THINGS.length)]) + method;
+            appendDescription(source, random, methodName);
+            source.append("    @Test\n")
+                  .append("    public void ").append(methodName).append("() {\n");
+            appendStatements(source, random, usedPages);
+            source.append("    }\n\n");
+        }
+        return closeClass(source);
+    }
+    
+    public String dataDrivenClassSource(int test) {
+        String className = dataDrivenClassName(test);
+        Random random = random(className);
+        List<PageSpec> usedPages = choosePages(random);
+        
+        List<String> scenarios = new ArrayList<>();
+        for (int scenario = 0; scenario < settings.getScenariosPerDataDrivenClass(); scenario++) {
+            scenarios.add(SCENARIO_VERBS[random.nextInt(SCENARIO_VERBS.length)]
+                    + capitalize(THINGS[random.nextInt(THINGS.length)]) + scenario);
+        }
+        
+        StringBuilder source = new StringBuilder();
+        appendTestClassHeader(source, className, usedPages);
+        source.append("    @Test(dataProvider = \"scenarios\")\n")
+              .append("    public void runScenario(String scenario) {\n")
+              .append("        switch (scenario) {\n");
+        for (String scenario : scenarios) {
+            source.append("            case \"").append(scenario).append("\":\n")
+                  .append("                ").append(scenario).append("();\n")
+                  .append("                break;\n");
+        }
+        source.append("            default:\n")
+              .append("                break;\n")
+              .append("        }\n")
+              .append("    }\n\n");
+        
+        for (String scenario : scenarios) {
+            appendDescription(source, random, scenario);
+            source.append("    private void ").append(scenario).append("() {\n");
+            appendStatements(source, random, usedPages);
+            source.append("    }\n\n");
+        }
+        return closeClass(source);
+    }
+    
+    public String configProperties() {
+        StringBuilder config = new StringBuilder();
+        config.append("browser=chrome\n")
+              .append("timeout=30\n");
+        for (int url = 0; url < settings.getConfigUrls(); url++) {
+            String area = AREAS[url % AREAS.length];
+            config.append(decapitalize(area)).append(url < AREAS.length ? "" : String.valueOf(url)).append("Url=")
+                  .append(baseUrl()).append(area.toLowerCase()).append('/').append(url).append('\n');
+        }
+        return config.toString();
+    }
+    
+    private void appendTestClassHeader(StringBuilder source, String className, List<PageSpec> usedPages) {
+        source.append("package ").append(PACKAGE).append(".tests;\n\n");
+        for (PageSpec page : usedPages) {
+            source.append("import ").append(PACKAGE).append(".pages.").append(page.className).append(";\n");
+        }
+        source.append("import org.openqa.selenium.By;\n")
+              .append("import org.openqa.selenium.WebDriver;\n")
+              .append("import org.openqa.selenium.support.ui.ExpectedConditions;\n")
+              .append("import org.openqa.selenium.support.ui.WebDriverWait;\n")
+              .append("import org.testng.annotations.Test;\n")
+              .append("import static org.testng.Assert.*;\n\n")
+              .append("public class ").append(className).append(" {\n\n")
+              .append("    private WebDriver driver;\n")
+              .append("    private WebDriverWait wait;\n");
+        for (PageSpec page : usedPages) {
+            source.append("    private ").append(page.className).append(' ').append(page.variableName).append(";\n");
+        }
+        source.append('\n');
+    }
+    
+    private static String closeClass(StringBuilder source) {
+        // Drop the blank line after the last method
+        if (source.length() >= 2 && source.charAt(source.length() - 2) == '\n') {
+            source.setLength(source.length() - 1);
+        }
+        return source.append("}\n").toString();
+    }
+    
+    private void appendDescription(StringBuilder source, Random random, String methodName) {
+        switch (random.nextInt(3)) {
+            case 0:
+                source.append("    /**\n     * Checks the ").append(methodName).append(" flow.\n     */\n");
+                break;
+            case 1:
+                source.append("    // test case: ").append(methodName).append('\n');
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private void appendStatements(StringBuilder source, Random random, List<PageSpec> usedPages) {
+        for (int i = 0; i < settings.getStatementsPerMethod(); i++) {
+            source.append("        ").append(statement(random, usedPages)).append('\n');
+        }
+    }
+    
+    /**
+     * One statement, mostly page object calls and assertions on known elements, with some
+     * direct locators, waits, navigation and calls that match nothing
+     */
+    private String statement(Random random, List<PageSpec> usedPages) {
+        PageSpec page = usedPages.get(random.nextInt(usedPages.size()));
+        String element = random.nextInt(100) < 85
+                ? page.elements.get(random.nextInt(page.elements.size())).name
+                : THINGS[random.nextInt(THINGS.length)] + KINDS[random.nextInt(KINDS.length)];
+        String capitalized = capitalize(element);
+        String scope = page.variableName;
+        
+        int kind = random.nextInt(100);
+        if (kind < 25) {
+            return scope + ".click" + capitalized + "();";
+        } else if (kind < 40) {
+            return scope + ".enter" + capitalized + "(\"" + THINGS[random.nextInt(THINGS.length)] + random.nextInt(100) + "\");";
+        } else if (kind < 45) {
+            return scope + ".select" + capitalized + "(\"Option " + random.nextInt(10) + "\");";
+        } else if (kind < 60) {
+            return "assertTrue(" + scope + ".is" + capitalized + "Displayed());";
+        } else if (kind < 70) {
+            return "assertEquals(" + scope + ".get" + capitalized + "Text(), \"Expected " + random.nextInt(100) + "\");";
+        } else if (kind < 77) {
+            return "driver.findElement(By.id(\"" + element + "\")).click();";
+        } else if (kind < 84) {
+            return "wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(\"." + element + "\")));";
+        } else if (kind < 92) {
+            return "driver.get(\"" + baseUrl() + AREAS[random.nextInt(AREAS.length)].toLowerCase() + "\");";
+        } else {
+            return "takeScreenshot(\"" + element + "\");";
+        }
+    }
+    
+    private List<PageSpec> choosePages(Random random) {
+        int count = Math.min(pages.size(), 1 + random.nextInt(3));
+        List<PageSpec> chosen = new ArrayList<>();
+        while (chosen.size() < count) {
+            PageSpec page = pages.get(random.nextInt(pages.size()));
+            if (!chosen.contains(page)) {
+                chosen.add(page);
+            }
+        }
+        return chosen;
+    }
+    
+    private PageSpec createPage(int page) {
+        String className = AREAS[page % AREAS.length] + (page < AREAS.length ? "" : String.valueOf(page / AREAS.length)) + "Page";
+        Random random = random(className);
+        
+        List<ElementSpec> elements = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int element = 0; element < settings.getElementsPerPage(); element++) {
+            String name = THINGS[random.nextInt(THINGS.length)] + KINDS[random.nextInt(KINDS.length)];
+            if (names.contains(name)) {
+                name += element;
+            }
+            names.add(name);
+            
+            String locator = LOCATORS[random.nextInt(LOCATORS.length)];
+            elements.add(new ElementSpec(name, locator, locatorValue(locator, name)));
+        }
+        return new PageSpec(className, decapitalize(className), elements);
+    }
+    
+    private static String locatorValue(String locator, String name) {
+        String dashed = name.replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase();
+        switch (locator) {
+            case "xpath":
+                return "//*[@data-test='" + dashed + "']";
+            case "css":
+                return "." + dashed;
+            default:
+                return dashed;
+        }
+    }
+    
+    private Random random(String fileName) {
+        return new Random(settings.getSeed() * 31 + fileName.hashCode());
+    }
+    
+    private static String baseUrl() {
+        return "https://shop.example.com/";
+    }
+    
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+    
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+    
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static class PageSpec {
+        final String className;
+        final String variableName;
+        final List<ElementSpec> elements;
+        
+        PageSpec(String className, String variableName, List<ElementSpec> elements) {
+            this.className = className;
+            this.variableName = variableName;
+            this.elements = elements;
+        }
+    }
+    
+    private static class ElementSpec {
+        final String name;
+        final String locator;
+        final String value;
+        
+        ElementSpec(String name, String locator, String value) {
+            this.name = name;
+            this.locator = locator;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.testparser;
+
+import com.testparser.cache.ExtractionCache;
+import com.testparser.utils.ExtractionPool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts every project listed in a manifest in one JVM. The worker pool is shared between
+ * projects, and JavaParser, Jackson and the JIT stay warm, so only the first project pays
+ * for startup. A project that fails is reported and the batch moves on to the next one.
+ *
+ * Each manifest line holds a project path and an output file, separated by a tab (or by
+ * whitespace when neither path contains spaces). Blank lines and lines starting with # are
+ * ignored, and relative paths are resolved against the manifest's directory.
+ */
+public class BatchRunner {
+    
+    private final Path manifestFile;
+    private final ParserOptions options;
+    
+    public BatchRunner(Path manifestFile, ParserOptions options) {
+        this.manifestFile = manifestFile;
+        this.options = options;
+    }
+    
+    /**
+     * Extract every project in manifest order and print the time each one took.
+     * Returns false if any project failed.
+     */
+    public boolean run() throws IOException {
+        List<Project> projects = readManifest(manifestFile);
+        List<Result> results = new ArrayList<>(projects.size());
+        long start = System.nanoTime();
+        
+        try (ExtractionPool pool = TestCaseParser.newExtractionPool(options)) {
+            for (int i = 0; i < projects.size(); i++) {
+                Project project = projects.get(i);
+                System.out.println("[" + (i + 1) + "/" + projects.size() + "] Extracting " + project.projectPath);
+                results.add(extract(project, pool));
+            }
+        }
+        
+        printTimings(results, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return results.stream().allMatch(result -> result.error == null);
+    }
+    
+    private Result extract(Project project, ExtractionPool pool) {
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            // A missing checkout would otherwise produce an empty report
+            if (!Files.isDirectory(Paths.get(project.projectPath))) {
+                throw new IOException("Project directory not found");
+            }
+            ExtractionCache extractionCache = 
+                    TestCaseParser.openExtractionCache(Paths.get(project.projectPath), options, false, true);
+            TestCaseParser.parseProject(project.projectPath, project.outputFile, options, extractionCache, pool);
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            System.err.println("Error parsing project " + project.projectPath + ": " + error);
+            e.printStackTrace();
+        }
+        return new Result(project, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), error);
+    }
+    
+    private static void printTimings(List<Result> results, long totalMillis) {
+        long failed = results.stream().filter(result -> result.error != null).count();
+        System.out.println("Batch finished: " + (results.size() - failed) + "/" + results.size() + 
+                " projects extracted in " + totalMillis + " ms");
+        for (Result result : results) {
+            String outcome = result.error == null 
+                    ? "ok      " + result.project.projectPath + " -> " + result.project.outputFile
+                    : "FAILED  " + result.project.projectPath + ": " + result.error;
+            System.out.println(String.format("%8d ms  %s", result.millis, outcome));
+        }
+    }
+    
+    /**
+     * Read the projects listed in a manifest, in order
+     */
+    static List<Project> readManifest(Path manifestFile) throws IOException {
+        Path baseDirectory = manifestFile.toAbsolutePath().getParent();
+        List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+        List<Project> projects = new ArrayList<>();
+        
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            
+            String[] fields = line.split(line.indexOf('\t') >= 0 ? "\t+" : "\\s+");
+            if (fields.length != 2) {
+                throw new IOException(manifestFile + ":" + (i + 1) + ": expected a project path and an output file");
+            }
+            projects.add(new Project(baseDirectory.resolve(fields[0].trim()).toString(), 
+                    baseDirectory.resolve(fields[1].trim()).toString()));
+        }
+        return projects;
+    }
+    
+    static class Project {
+        final String projectPath;
+        final String outputFile;
+        
+        Project(String projectPath, String outputFile) {
+            this.projectPath = projectPath;
+            this.outputFile = outputFile;
+        }
+    }
+    
+    private static class Result {
+        final Project project;
+        final long millis;
+        final String error;
+        
+        Result(Project project, long millis, String error) {
+            this.project = project;
+            this.millis = millis;
+            this.error = error;
+        }
+    }
+}
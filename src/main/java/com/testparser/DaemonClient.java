@@ -0,0 +1,88 @@
+package com.testparser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Sends an extraction request to a running {@link ExtractionDaemon}. Paths are made absolute
+ * here, since the daemon may have been started from another directory.
+ */
+public class DaemonClient {
+    
+    // The daemon runs on this machine; if nothing answers quickly, nothing is listening
+    private static final int CONNECT_TIMEOUT_MILLIS = 500;
+    
+    private final int port;
+    
+    public DaemonClient(int port) {
+        this.port = port;
+    }
+    
+    /**
+     * Ask the daemon to extract the project and return the time it took in milliseconds.
+     * Changed files may be null to have every file checked. The output arguments are the
+     * options, as given on the command line, that the report is written with. Throws ExtractionFailedException
+     * if the daemon could not extract the project, and IOException if no daemon answered.
+     */
+    public long extract(String projectPath, String outputFile, List<String> changedFiles, 
+                        List<String> outputArguments) throws IOException {
+        // No token file means no daemon was started on this port by this user
+        String token = ExtractionDaemon.readToken(port);
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT_MILLIS);
+            
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(ExtractionDaemon.TOKEN + token + "\n");
+            writer.write(ExtractionDaemon.EXTRACT + absolute(projectPath) + "\n");
+            writer.write(ExtractionDaemon.OUTPUT + absolute(outputFile) + "\n");
+            for (String argument : outputArguments) {
+                writer.write(ExtractionDaemon.OPTION + argument + "\n");
+            }
+            if (changedFiles != null) {
+                for (String file : changedFiles) {
+                    writer.write(ExtractionDaemon.CHANGED + absolute(file) + "\n");
+                }
+            }
+            writer.write("\n");
+            writer.flush();
+            
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String response = reader.readLine();
+            if (response != null && response.startsWith(ExtractionDaemon.OK)) {
+                return Long.parseLong(response.substring(ExtractionDaemon.OK.length()).trim());
+            }
+            if (response != null && response.startsWith(ExtractionDaemon.ERROR)) {
+                throw new ExtractionFailedException(response.substring(ExtractionDaemon.ERROR.length()));
+            }
+            if (ExtractionDaemon.BUSY.equals(response)) {
+                throw new IOException("daemon busy");
+            }
+            throw new IOException("Unexpected response from daemon: " + response);
+        }
+    }
+    
+    private static String absolute(String path) {
+        return Paths.get(path).toAbsolutePath().normalize().toString();
+    }
+    
+    /**
+     * The daemon answered, but extracting the project failed; extracting in process would fail too
+     */
+    public static class ExtractionFailedException extends IOException {
+        private static final long serialVersionUID = 1L;
+        
+        public ExtractionFailedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.testparser;
+
+import com.testparser.cache.ExtractionCache;
+import com.testparser.utils.ExtractionPool;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running extraction server for IDE and pre-commit integration. Listens on a localhost
+ * port and keeps in-memory extraction caches for the projects it served most recently, so a
+ * request for an unchanged project is answered from stored results without parsing anything,
+ * and a request naming the changed files does not even read the other files. All projects
+ * share one worker pool.
+ * Each request carries the output options of the client's command line, so the report has
+ * the same shape as one written in process; the daemon's own options only size its threads.
+ *
+ * The daemon accepts connections from this machine only, and only from clients that can read
+ * its token: a random secret written on startup to ~/.testparser/daemon-&lt;port&gt;.token,
+ * readable by the daemon's user alone. Without it, any local user could have the daemon read
+ * their choice of directory and overwrite any file the daemon's user can write.
+ *
+ * The protocol is line based, in UTF-8. A request is
+ * <pre>
+ * TOKEN &lt;token&gt;                 (first; the connection is refused without it)
+ * EXTRACT &lt;absolute project path&gt;
+ * OUTPUT &lt;absolute output file&gt;
+ * OPTION &lt;argument&gt;             (optional, repeated; output options, one argument per line)
+ * CHANGED &lt;absolute file path&gt;   (optional, repeated; only these files are checked for changes)
+ * &lt;empty line&gt;
+ * </pre>
+ * and the response is a single line, either "OK &lt;milliseconds&gt;" or "ERROR &lt;message&gt;", or
+ * "BUSY" when every handler is taken and the request was not read.
+ * Lines are limited to 8192 characters and requests to 100,000 lines.
+ */
+public class ExtractionDaemon {
+    
+    public static final int DEFAULT_PORT = 7463;
+    
+    static final String TOKEN = "TOKEN ";
+    static final String EXTRACT = "EXTRACT ";
+    static final String OUTPUT = "OUTPUT ";
+    static final String OPTION = "OPTION ";
+    static final String CHANGED = "CHANGED ";
+    static final String OK = "OK ";
+    static final String ERROR = "ERROR ";
+    static final String BUSY = "BUSY";
+    
+    // A client that connects and stays silent must not hold a handler thread forever
+    private static final int REQUEST_TIMEOUT_MILLIS = 30_000;
+    
+    // Handlers mostly wait for the shared pool, so a few suffice; connections beyond the
+    // queue are refused rather than each holding a thread until it times out
+    private static final int HANDLER_THREADS = 8;
+    private static final int QUEUED_CONNECTIONS = 16;
+    
+    private static final int TOKEN_BYTES = 32;
+    
+    // Each cache holds the results for every file of its project, so only the most recently
+    // used are kept; a daemon serving many checkouts or worktrees would otherwise grow forever
+    private static final int MAX_PROJECT_CACHES = 16;
+    
+    // Requests are read before they are trusted, so a client cannot make the daemon buffer
+    // more than this; a line is one path or option, and a request names a project's files at most
+    private static final int MAX_LINE_LENGTH = 8192;
+    private static final int MAX_REQUEST_LINES = 100_000;
+    
+    private final ParserOptions options;
+    // Keyed by project and the options the cache depends on, least recently used first
+    private final Map<String, ExtractionCache> projectCaches = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile byte[] token;
+    
+    public ExtractionDaemon(ParserOptions options) {
+        this.options = options;
+    }
+    
+    /**
+     * Accept requests until the process is stopped
+     */
+    public void run() throws IOException {
+        ThreadPoolExecutor handlers = new ThreadPoolExecutor(HANDLER_THREADS, HANDLER_THREADS, 
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUED_CONNECTIONS), task -> {
+                    Thread thread = new Thread(task, "extraction-daemon-request");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        handlers.allowCoreThreadTimeOut(true);
+        
+        try (ExtractionPool pool = TestCaseParser.newExtractionPool(options);
+             ServerSocket server = new ServerSocket(options.getDaemonPort(), 50, InetAddress.getLoopbackAddress())) {
+            Path tokenFile = tokenFile(server.getLocalPort());
+            token = writeToken(tokenFile);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteToken(tokenFile)));
+            
+            System.out.println("Extraction daemon listening on " + server.getInetAddress().getHostAddress() + ":" + 
+                    server.getLocalPort() + " (Ctrl+C to stop)");
+            while (true) {
+                Socket socket = server.accept();
+                try {
+                    handlers.execute(() -> handle(socket, pool));
+                } catch (RejectedExecutionException e) {
+                    refuse(socket);
+                }
+            }
+        } finally {
+            handlers.shutdownNow();
+        }
+    }
+    
+    private void handle(Socket socket, ExtractionPool pool) {
+        try (Socket connection = socket) {
+            connection.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+            Writer writer = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8);
+            
+            String response;
+            try {
+                Request request = readRequest(reader, token);
+                response = OK + extract(request, pool);
+            } catch (Exception e) {
+                String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+                System.err.println("Error handling request: " + message);
+                e.printStackTrace();
+                response = ERROR + message.replace('\n', ' ');
+            }
+            writer.write(response + "\n");
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Error answering client: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Turn a client away without reading its request because every handler is busy
+     */
+    private static void refuse(Socket socket) {
+        try (Socket connection = socket) {
+            Writer writer = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(BUSY + "\n");
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Error refusing client: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Extract the requested project with its warm cache and return the time it took
+     */
+    private long extract(Request request, ExtractionPool pool) throws IOException {
+        if (!Files.isDirectory(request.projectRoot)) {
+            throw new IOException("Project directory not found: " + request.projectRoot);
+        }
+        
+        ParserOptions requestOptions = requestOptions(request);
+        ExtractionCache extractionCache = cacheFor(request.projectRoot, requestOptions);
+        long start = System.nanoTime();
+        // Requests for one project share its cache, so they run one at a time
+        synchronized (extractionCache) {
+            extractionCache.beginRun(request.changedFiles);
+            TestCaseParser.parseProject(request.projectRoot.toString(), request.outputFile, requestOptions, 
+                    extractionCache, pool);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String scope = request.changedFiles == null ? "full check" : request.changedFiles.size() + " changed file(s)";
+        System.out.println("Extracted " + request.projectRoot + " to " + request.outputFile + " in " + millis + 
+                " ms (" + scope + ")");
+        return millis;
+    }
+    
+    /**
+     * The daemon's options with the output options of the request
+     */
+    private ParserOptions requestOptions(Request request) throws IOException {
+        ParserOptions parsed = new ParserOptions();
+        List<String> positional = new ArrayList<>();
+        try {
+            TestCaseParser.parseArguments(request.arguments.toArray(new String[0]), parsed, positional);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        if (!positional.isEmpty()) {
+            throw new IOException("Unexpected request option: " + positional.get(0));
+        }
+        return options.withOutputOptionsOf(parsed);
+    }
+    
+    private ExtractionCache cacheFor(Path projectRoot, ParserOptions requestOptions) throws IOException {
+        // Results depend on the charset, and the cache location on the cache options
+        String key = projectRoot + "\n" + requestOptions.getSourceCharset().name() + "\n" + 
+                requestOptions.isCacheEnabled() + "\n" + requestOptions.getCacheDirectory();
+        synchronized (projectCaches) {
+            ExtractionCache extractionCache = projectCaches.get(key);
+            if (extractionCache != null) {
+                return extractionCache;
+            }
+        }
+        
+        // Opening may create the cache directory, so other requests are not held up meanwhile
+        ExtractionCache opened = TestCaseParser.openExtractionCache(projectRoot, requestOptions, true, true);
+        synchronized (projectCaches) {
+            ExtractionCache extractionCache = projectCaches.get(key);
+            if (extractionCache != null) {
+                return extractionCache;
+            }
+            evictCaches();
+            projectCaches.put(key, opened);
+            return opened;
+        }
+    }
+    
+    /**
+     * Make room for another cache: drop the caches of projects that no longer exist, then
+     * the least recently used ones. Called with the cache map locked.
+     */
+    private void evictCaches() {
+        projectCaches.values().removeIf(cache -> !Files.isDirectory(cache.getProjectRoot()));
+        Iterator<ExtractionCache> leastRecentlyUsed = projectCaches.values().iterator();
+        while (projectCaches.size() >= MAX_PROJECT_CACHES) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+        }
+    }
+    
+    /**
+     * Read a request, checking the token on the first line before reading anything else
+     */
+    private static Request readRequest(BufferedReader reader, byte[] token) throws IOException {
+        String line = readLine(reader);
+        if (line == null || !line.startsWith(TOKEN)) {
+            throw new IOException("Request must start with the daemon token");
+        }
+        if (!MessageDigest.isEqual(token, line.substring(TOKEN.length()).getBytes(StandardCharsets.UTF_8))) {
+            throw new IOException("Invalid daemon token");
+        }
+        
+        Request request = new Request();
+        int lines = 1;
+        while ((line = readLine(reader)) != null && !line.isEmpty()) {
+            if (++lines > MAX_REQUEST_LINES) {
+                throw new IOException("Request has more than " + MAX_REQUEST_LINES + " lines");
+            }
+            if (line.startsWith(EXTRACT)) {
+                request.projectRoot = Paths.get(line.substring(EXTRACT.length()));
+            } else if (line.startsWith(OUTPUT)) {
+                request.outputFile = line.substring(OUTPUT.length());
+            } else if (line.startsWith(OPTION)) {
+                request.arguments.add(line.substring(OPTION.length()));
+            } else if (line.startsWith(CHANGED)) {
+                if (request.changedFiles == null) {
+                    request.changedFiles = new HashSet<>();
+                }
+                request.changedFiles.add(Paths.get(line.substring(CHANGED.length())));
+            } else {
+                throw new IOException("Unknown request line: " + line);
+            }
+        }
+        
+        if (request.projectRoot == null || request.outputFile == null) {
+            throw new IOException("Request must name a project and an output file");
+        }
+        return request;
+    }
+    
+    /**
+     * Read a line of at most MAX_LINE_LENGTH characters, or return null at the end of the stream
+     */
+    private static String readLine(BufferedReader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) >= 0 && c != '\n') {
+            if (line.length() == MAX_LINE_LENGTH) {
+                throw new IOException("Request line longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            line.append((char) c);
+        }
+        if (c < 0 && line.length() == 0) {
+            return null;
+        }
+        int length = line.length();
+        return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+    }
+    
+    /**
+     * Where the daemon listening on the port keeps its token
+     */
+    static Path tokenFile(int port) {
+        return Paths.get(System.getProperty("user.home"), ".testparser", "daemon-" + port + ".token");
+    }
+    
+    /**
+     * The token of the daemon listening on the port
+     */
+    static String readToken(int port) throws IOException {
+        return new String(Files.readAllBytes(tokenFile(port)), StandardCharsets.UTF_8).trim();
+    }
+    
+    /**
+     * Generate a new token and write it to a file only the current user can read
+     */
+    private static byte[] writeToken(Path tokenFile) throws IOException {
+        byte[] secret = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(secret);
+        StringBuilder text = new StringBuilder();
+        for (byte b : secret) {
+            text.append(String.format("%02x", b));
+        }
+        
+        Path directory = tokenFile.getParent();
+        Path tempFile;
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(directory, 
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            tempFile = Files.createTempFile(directory, "daemon-", ".tmp", 
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            // The user's home directory is private on file systems without POSIX permissions
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, "daemon-", ".tmp");
+        }
+        Files.write(tempFile, text.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile, tokenFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static void deleteToken(Path tokenFile) {
+        try {
+            Files.deleteIfExists(tokenFile);
+        } catch (IOException e) {
+            // The next daemon on this port overwrites it
+        }
+    }
+    
+    private static class Request {
+        Path projectRoot;
+        String outputFile;
+        List<String> arguments = new ArrayList<>();
+        // Null means every file is checked for changes
+        Set<Path> changedFiles;
+    }
+}
@@ -0,0 +1,209 @@
+package com.testparser;
+
+import com.testparser.utils.ExtractionPool;
+import com.testparser.utils.SourceReader;
+
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options controlling how a project is parsed.
+ */
+public class ParserOptions {
+    private int workerCount = Runtime.getRuntime().availableProcessors();
+    private int ioThreadCount = -1;
+    private int queueDepth = -1;
+    private boolean compactOutput;
+    private boolean cacheEnabled;
+    private boolean watch;
+    private String batchManifest;
+    private boolean daemon;
+    private boolean useDaemon;
+    private int daemonPort = ExtractionDaemon.DEFAULT_PORT;
+    private List<String> changedFiles;
+    private boolean metricsEnabled;
+    private boolean jfrEventsEnabled;
+    private boolean selectorPool;
+    private String cacheDirectory;
+    private Charset sourceCharset = SourceReader.DEFAULT_CHARSET;
+    
+    public ParserOptions() {}
+    
+    /**
+     * Number of worker threads used for extraction; 1 runs everything on the calling thread
+     */
+    public int getWorkerCount() { return workerCount; }
+    public void setWorkerCount(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Worker count must be at least 1: " + workerCount);
+        }
+        this.workerCount = workerCount;
+    }
+    
+    /**
+     * Number of threads reading source files while the workers parse; defaults to at most 4.
+     * 0 reads on the worker threads.
+     */
+    public int getIoThreadCount() {
+        return ioThreadCount >= 0 ? ioThreadCount : ExtractionPool.defaultIoThreadCount(workerCount);
+    }
+    public void setIoThreadCount(int ioThreadCount) {
+        if (ioThreadCount < 0) {
+            throw new IllegalArgumentException("I/O thread count must not be negative: " + ioThreadCount);
+        }
+        this.ioThreadCount = ioThreadCount;
+    }
+    
+    /**
+     * Maximum number of files read, parsed or extracted but not yet written, which bounds the
+     * source text and ASTs held at once; defaults to four per worker
+     */
+    public int getQueueDepth() {
+        return queueDepth > 0 ? queueDepth : ExtractionPool.defaultQueueDepth(workerCount);
+    }
+    public void setQueueDepth(int queueDepth) {
+        if (queueDepth < 1) {
+            throw new IllegalArgumentException("Queue depth must be at least 1: " + queueDepth);
+        }
+        this.queueDepth = queueDepth;
+    }
+    
+    /**
+     * Write the JSON report without indentation
+     */
+    public boolean isCompactOutput() { return compactOutput; }
+    public void setCompactOutput(boolean compactOutput) { this.compactOutput = compactOutput; }
+    
+    /**
+     * Whether per-file extraction results are reused from the on-disk cache
+     */
+    public boolean isCacheEnabled() { return cacheEnabled; }
+    public void setCacheEnabled(boolean cacheEnabled) { this.cacheEnabled = cacheEnabled; }
+    
+    /**
+     * Cache location; null means .testparser-cache inside the project
+     */
+    public String getCacheDirectory() { return cacheDirectory; }
+    public void setCacheDirectory(String cacheDirectory) { this.cacheDirectory = cacheDirectory; }
+    
+    /**
+     * Keep running and re-extract whenever project sources change
+     */
+    public boolean isWatch() { return watch; }
+    public void setWatch(boolean watch) { this.watch = watch; }
+    
+    /**
+     * Manifest listing the projects to extract in one run; null extracts the single project
+     * given on the command line
+     */
+    public String getBatchManifest() { return batchManifest; }
+    public void setBatchManifest(String batchManifest) { this.batchManifest = batchManifest; }
+    
+    /**
+     * Run as a resident extraction daemon instead of extracting a project
+     */
+    public boolean isDaemon() { return daemon; }
+    public void setDaemon(boolean daemon) { this.daemon = daemon; }
+    
+    /**
+     * Send the extraction to a running daemon, extracting in process if none answers
+     */
+    public boolean isUseDaemon() { return useDaemon; }
+    public void setUseDaemon(boolean useDaemon) { this.useDaemon = useDaemon; }
+    
+    /**
+     * Localhost port the daemon listens on
+     */
+    public int getDaemonPort() { return daemonPort; }
+    public void setDaemonPort(int daemonPort) {
+        if (daemonPort < 0 || daemonPort > 65535) {
+            throw new IllegalArgumentException("Port must be between 0 and 65535: " + daemonPort);
+        }
+        this.daemonPort = daemonPort;
+    }
+    
+    /**
+     * Files the daemon should check for changes; null checks every file
+     */
+    public List<String> getChangedFiles() { return changedFiles; }
+    public void addChangedFile(String changedFile) {
+        if (changedFiles == null) {
+            changedFiles = new ArrayList<>();
+        }
+        changedFiles.add(changedFile);
+    }
+    
+    /**
+     * Write timing, counter and allocation metrics next to the output file
+     */
+    public boolean isMetricsEnabled() { return metricsEnabled; }
+    public void setMetricsEnabled(boolean metricsEnabled) { this.metricsEnabled = metricsEnabled; }
+    
+    /**
+     * Register the Java Flight Recorder extraction events so recordings can capture them
+     */
+    public boolean isJfrEventsEnabled() { return jfrEventsEnabled; }
+    public void setJfrEventsEnabled(boolean jfrEventsEnabled) { this.jfrEventsEnabled = jfrEventsEnabled; }
+    
+    /**
+     * Write each distinct selector once in a pool and refer to it by id from page objects and steps
+     */
+    public boolean isSelectorPool() { return selectorPool; }
+    public void setSelectorPool(boolean selectorPool) { this.selectorPool = selectorPool; }
+    
+    /**
+     * Charset used to decode Java source files
+     */
+    public Charset getSourceCharset() { return sourceCharset; }
+    public void setSourceCharset(Charset sourceCharset) { this.sourceCharset = sourceCharset; }
+    
+    /**
+     * Command line arguments for the options that change what a run writes, with the cache
+     * directory made absolute, so a process started elsewhere writes the same report
+     */
+    public List<String> outputArguments() {
+        List<String> arguments = new ArrayList<>();
+        if (compactOutput) {
+            arguments.add("--compact");
+        }
+        if (selectorPool) {
+            arguments.add("--selector-pool");
+        }
+        if (metricsEnabled) {
+            arguments.add("--metrics");
+        }
+        if (jfrEventsEnabled) {
+            arguments.add("--jfr-events");
+        }
+        arguments.add("--encoding");
+        arguments.add(sourceCharset.name());
+        if (cacheDirectory != null) {
+            arguments.add("--cache-dir");
+            arguments.add(Paths.get(cacheDirectory).toAbsolutePath().normalize().toString());
+        } else if (cacheEnabled) {
+            arguments.add("--cache");
+        }
+        return arguments;
+    }
+    
+    /**
+     * A copy of these options with the output options, as listed by {@link #outputArguments},
+     * taken from another set
+     */
+    public ParserOptions withOutputOptionsOf(ParserOptions source) {
+        ParserOptions copy = new ParserOptions();
+        copy.workerCount = workerCount;
+        copy.ioThreadCount = ioThreadCount;
+        copy.queueDepth = queueDepth;
+        copy.compactOutput = source.compactOutput;
+        copy.selectorPool = source.selectorPool;
+        copy.metricsEnabled = source.metricsEnabled;
+        copy.jfrEventsEnabled = source.jfrEventsEnabled;
+        copy.sourceCharset = source.sourceCharset;
+        copy.cacheEnabled = source.cacheEnabled;
+        copy.cacheDirectory = source.cacheDirectory;
+        return copy;
+    }
+}
\ No newline at end of file
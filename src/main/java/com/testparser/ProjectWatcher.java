@@ -0,0 +1,183 @@
+package com.testparser;
+
+import com.testparser.cache.ExtractionCache;
+import com.testparser.utils.ProjectFileWalker;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Keeps the JVM alive and re-extracts a project whenever its sources change.
+ * Extraction results stay in memory between runs, so only changed files (and, when a
+ * page object or config file changed, the test files) are parsed again.
+ */
+public class ProjectWatcher {
+    
+    // Editors and VCS checkouts touch several files at once; wait for a quiet period
+    private static final long QUIET_PERIOD_MILLIS = 200;
+    
+    private final String projectPath;
+    private final String outputFile;
+    private final ParserOptions options;
+    private final Path projectRoot;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    
+    public ProjectWatcher(String projectPath, String outputFile, ParserOptions options) {
+        this.projectPath = projectPath;
+        this.outputFile = outputFile;
+        this.options = options;
+        this.projectRoot = Paths.get(projectPath);
+    }
+    
+    /**
+     * Extract once, then block re-extracting on every batch of source changes
+     */
+    public void run() throws IOException, InterruptedException {
+        ExtractionCache extractionCache = TestCaseParser.openExtractionCache(projectRoot, options, true);
+        
+        try (WatchService watchService = projectRoot.getFileSystem().newWatchService()) {
+            registerTree(watchService, projectRoot, null);
+            extract(extractionCache, null);
+            System.out.println("Watching " + projectPath + " for changes (Ctrl+C to stop)");
+            
+            while (true) {
+                ChangeSet changes = awaitChanges(watchService);
+                if (changes.relevant) {
+                    extract(extractionCache, changes.files);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Watch service closed during shutdown
+        }
+    }
+    
+    private void extract(ExtractionCache extractionCache, Set<Path> changedFiles) {
+        long start = System.nanoTime();
+        extractionCache.beginRun(changedFiles);
+        try {
+            TestCaseParser.parseProject(projectPath, outputFile, options, extractionCache);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String scope = changedFiles == null ? "full scan" : changedFiles.size() + " changed file(s)";
+            System.out.println("Test cases extracted to: " + outputFile + " in " + millis + " ms (" + scope + ")");
+        } catch (Exception e) {
+            System.err.println("Error parsing project: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Block until at least one event arrives, then drain events until the tree is quiet
+     */
+    private ChangeSet awaitChanges(WatchService watchService) throws IOException, InterruptedException {
+        ChangeSet changes = new ChangeSet();
+        WatchKey key = watchService.take();
+        while (key != null) {
+            Path dir = watchedDirectories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW || dir == null) {
+                    // Events were lost; fingerprint every file on the next run
+                    changes.relevant = true;
+                    changes.lost = true;
+                    continue;
+                }
+                recordEvent(watchService, changes, event.kind(), dir.resolve((Path) event.context()));
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+            key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        
+        if (changes.lost) {
+            changes.files = null;
+        }
+        return changes;
+    }
+    
+    private void recordEvent(WatchService watchService, ChangeSet changes, WatchEvent.Kind<?> kind, Path path) 
+            throws IOException {
+        String name = path.getFileName().toString();
+        
+        if (kind == ENTRY_CREATE && Files.isDirectory(path)) {
+            if (!ProjectFileWalker.isSkippedDirectory(name)) {
+                // New directories are watched too, and everything already inside them is new
+                registerTree(watchService, path, changes.files);
+                changes.relevant = true;
+            }
+            return;
+        }
+        
+        if (isSourceFile(name)) {
+            changes.files.add(path);
+            changes.relevant = true;
+        } else if (kind == ENTRY_DELETE && !name.contains(".")) {
+            // Most likely a deleted directory; its files simply disappear from the next walk
+            changes.relevant = true;
+        }
+    }
+    
+    private static boolean isSourceFile(String name) {
+        return name.endsWith(".java") || name.toLowerCase().equals("config.properties");
+    }
+    
+    /**
+     * Watch a directory and all its subdirectories, optionally collecting the files found
+     */
+    private void registerTree(WatchService watchService, Path start, Set<Path> files) throws IOException {
+        Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, 
+                new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(start) && ProjectFileWalker.isSkippedDirectory(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                watchedDirectories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (files != null) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+    
+    /**
+     * Files changed in one batch of events
+     */
+    private static class ChangeSet {
+        Set<Path> files = new HashSet<>();
+        boolean relevant;
+        boolean lost;
+    }
+}
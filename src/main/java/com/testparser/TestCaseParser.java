@@ -1,23 +1,36 @@
 package com.testparser;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.testparser.cache.ExtractionCache;
+import com.testparser.extractors.CompilationUnitCache;
 import com.testparser.extractors.PageObjectExtractor;
+import com.testparser.extractors.PageObjectIndex;
 import com.testparser.extractors.TestMethodExtractor;
+import com.testparser.metrics.ExtractionEvents;
+import com.testparser.metrics.ExtractionMetrics;
+import com.testparser.metrics.MetricsExporter;
 import com.testparser.models.PageObject;
-import com.testparser.models.TestCase;
+import com.testparser.output.JsonReportWriter;
 import com.testparser.utils.ConfigPropertiesReader;
+import com.testparser.utils.ExtractionPool;
+import com.testparser.utils.ProjectFileWalker;
+import com.testparser.utils.ProjectFiles;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Parses Selenium test projects to extract test cases and page objects into JSON format.
- * Usage: java -jar selenium-test-parser.jar <project-path> [output-file]
+ * Usage: java -jar selenium-test-parser.jar <project-path> [output-file] [--threads N] [--io-threads N] [--queue-depth N] [--compact] [--selector-pool] [--cache | --cache-dir DIR] [--encoding CHARSET] [--watch]
  */
 public class TestCaseParser {
     
@@ -25,19 +38,89 @@ public class TestCaseParser {
      * Main entry point - parses project and outputs JSON report.
      */
     public static void main(String[] args) {
+        // Split command line into options and positional parameters
+        ParserOptions options = new ParserOptions();
+        List<String> positional = new ArrayList<>();
+        try {
+            parseArguments(args, options, positional);
+            // Only the daemon can skip unchanged files; a normal run would silently check them all
+            if (options.getChangedFiles() != null && !options.isUseDaemon()) {
+                throw new IllegalArgumentException("--changed requires --use-daemon");
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            positional.clear();
+        }
+        
         // Validate command line arguments
-        if (args.length < 1) {
-            System.out.println("Usage: java -jar selenium-test-parser.jar <project-path> [output-file]");
+        boolean batch = options.getBatchManifest() != null;
+        boolean standalone = batch || options.isDaemon();
+        if (standalone ? !positional.isEmpty() || options.isWatch() || (batch && options.isDaemon()) 
+                       : positional.isEmpty()) {
+            System.out.println("Usage: java -jar selenium-test-parser.jar <project-path> [output-file] [--threads N] [--io-threads N] [--queue-depth N] [--compact] [--selector-pool] [--cache | --cache-dir DIR] [--encoding CHARSET] [--watch] [--metrics] [--jfr-events]");
+            System.out.println("       java -jar selenium-test-parser.jar --batch MANIFEST [options]");
+            System.out.println("       java -jar selenium-test-parser.jar --daemon [--port N] [options]");
+            System.out.println("       java -jar selenium-test-parser.jar <project-path> [output-file] --use-daemon [--port N] [--changed FILE]...");
             System.exit(1);
         }
         
+        if (options.isDaemon()) {
+            try {
+                new ExtractionDaemon(options).run();
+            } catch (Exception e) {
+                System.err.println("Error running daemon: " + e.getMessage());
+                e.printStackTrace();
+                System.exit(1);
+            }
+            return;
+        }
+        
+        if (batch) {
+            boolean succeeded = false;
+            try {
+                succeeded = new BatchRunner(Paths.get(options.getBatchManifest()), options).run();
+            } catch (Exception e) {
+                System.err.println("Error running batch: " + e.getMessage());
+                e.printStackTrace();
+            }
+            if (!succeeded) {
+                System.exit(1);
+            }
+            return;
+        }
+        
         // Extract command line parameters
-        String projectPath = args[0];
-        String outputFile = args.length > 1 ? args[1] : "test-cases.json";
+        String projectPath = positional.get(0);
+        String outputFile = positional.size() > 1 ? positional.get(1) : "test-cases.json";
+        
+        if (options.isWatch()) {
+            try {
+                new ProjectWatcher(projectPath, outputFile, options).run();
+            } catch (Exception e) {
+                System.err.println("Error watching project: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return;
+        }
+        
+        if (options.isUseDaemon()) {
+            try {
+                long millis = new DaemonClient(options.getDaemonPort())
+                        .extract(projectPath, outputFile, options.getChangedFiles(), options.outputArguments());
+                System.out.println("Test cases successfully extracted to: " + outputFile + " by the daemon in " + 
+                        millis + " ms");
+                return;
+            } catch (DaemonClient.ExtractionFailedException e) {
+                System.err.println("Error parsing project: " + e.getMessage());
+                return;
+            } catch (IOException e) {
+                System.out.println("Extraction daemon unavailable (" + e.getMessage() + "); extracting in process");
+            }
+        }
         
         try {
             // Parse the project and generate output
-            parseProject(projectPath, outputFile);
+            parseProject(projectPath, outputFile, options);
             System.out.println("Test cases successfully extracted to: " + outputFile);
         } catch (Exception e) {
             // Handle any errors during parsing
@@ -46,101 +129,262 @@ public class TestCaseParser {
         }
     }
     
+    /**
+     * Reads --option flags into the options and collects the remaining arguments.
+     */
+    static void parseArguments(String[] args, ParserOptions options, List<String> positional) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--threads")) {
+                String value = optionValue(args, ++i, arg);
+                try {
+                    options.setWorkerCount(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for --threads: " + value);
+                }
+            } else if (arg.equals("--io-threads")) {
+                String value = optionValue(args, ++i, arg);
+                try {
+                    options.setIoThreadCount(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for --io-threads: " + value);
+                }
+            } else if (arg.equals("--queue-depth")) {
+                String value = optionValue(args, ++i, arg);
+                try {
+                    options.setQueueDepth(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for --queue-depth: " + value);
+                }
+            } else if (arg.equals("--batch")) {
+                options.setBatchManifest(optionValue(args, ++i, arg));
+            } else if (arg.equals("--daemon")) {
+                options.setDaemon(true);
+            } else if (arg.equals("--use-daemon")) {
+                options.setUseDaemon(true);
+            } else if (arg.equals("--port")) {
+                String value = optionValue(args, ++i, arg);
+                try {
+                    options.setDaemonPort(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for --port: " + value);
+                }
+            } else if (arg.equals("--changed")) {
+                options.addChangedFile(optionValue(args, ++i, arg));
+            } else if (arg.equals("--watch")) {
+                options.setWatch(true);
+            } else if (arg.equals("--metrics")) {
+                options.setMetricsEnabled(true);
+            } else if (arg.equals("--jfr-events")) {
+                options.setJfrEventsEnabled(true);
+            } else if (arg.equals("--compact")) {
+                options.setCompactOutput(true);
+            } else if (arg.equals("--selector-pool")) {
+                options.setSelectorPool(true);
+            } else if (arg.equals("--encoding")) {
+                String value = optionValue(args, ++i, arg);
+                try {
+                    options.setSourceCharset(Charset.forName(value));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported value for --encoding: " + value);
+                }
+            } else if (arg.equals("--cache")) {
+                options.setCacheEnabled(true);
+            } else if (arg.equals("--cache-dir")) {
+                options.setCacheEnabled(true);
+                options.setCacheDirectory(optionValue(args, ++i, arg));
+            } else {
+                positional.add(arg);
+            }
+        }
+    }
+    
+    private static String optionValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+    
     /**
      * Parses project to extract page objects, test cases, and generates JSON output.
      */
     public static void parseProject(String projectPath, String outputFile) throws IOException {
-        // Load config URLs first
-        Map<String, String> configUrls = ConfigPropertiesReader.loadUrlsFromProject(projectPath);
-        
-        // Extract page objects first (required for test case extraction)
-        Map<String, PageObject> pageObjects = PageObjectExtractor.extractPageObjects(projectPath);
-        
-        // Extract test cases using the new TestMethodExtractor
-        TestMethodExtractor testMethodExtractor = new TestMethodExtractor();
-        List<TestCase> testCases = testMethodExtractor.extractTestCases(projectPath, pageObjects);
-        
-        // Create output structure with summary statistics
-        Map<String, Object> output = new HashMap<>();
-        output.put("pageObjects", pageObjects);
-        output.put("testCases", testCases);
-        output.put("configUrls", configUrls);  // Add config URLs to output
-        output.put("summary", createSummary(testCases, pageObjects, configUrls));
-        
-        // Write to JSON file
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-        mapper.writeValue(new File(outputFile), output);
+        parseProject(projectPath, outputFile, new ParserOptions());
     }
     
     /**
-     * Creates summary statistics for test cases and page objects.
+     * Parses project with the given options.
      */
-    private static Map<String, Object> createSummary(List<TestCase> testCases, Map<String, PageObject> pageObjects, Map<String, String> configUrls) {
-        Map<String, Object> summary = new HashMap<>();
-        
-        // Count totals
-        summary.put("totalTestCases", testCases.size());
-        summary.put("totalPageObjects", pageObjects.size());
-        summary.put("totalConfigUrls", configUrls.size());
-        
-        // Calculate total steps across all test cases
-        int totalSteps = testCases.stream()
-                .mapToInt(tc -> tc.getSteps().size())
-                .sum();
-        summary.put("totalSteps", totalSteps);
-        
-        // Count action types used in test steps
-        Map<String, Long> actionCounts = testCases.stream()
-                .flatMap(tc -> tc.getSteps().stream())
-                .collect(java.util.stream.Collectors.groupingBy(
-                    step -> step.getActionType() != null ? step.getActionType() : "unknown",
-                    java.util.stream.Collectors.counting()
-                ));
-        summary.put("actionTypeCounts", actionCounts);
+    public static void parseProject(String projectPath, String outputFile, ParserOptions options) throws IOException {
+        parseProject(projectPath, outputFile, options, openExtractionCache(Paths.get(projectPath), options, false));
+    }
+    
+    /**
+     * Parses project reusing results from the given extraction cache.
+     */
+    public static void parseProject(String projectPath, String outputFile, ParserOptions options, 
+                                    ExtractionCache extractionCache) throws IOException {
+        try (ExtractionPool pool = newExtractionPool(options)) {
+            parseProject(projectPath, outputFile, options, extractionCache, pool);
+        }
+    }
+    
+    /**
+     * Parses project on a pool shared with other runs; the pool is left open.
+     */
+    public static void parseProject(String projectPath, String outputFile, ParserOptions options, 
+                                    ExtractionCache extractionCache, ExtractionPool pool) throws IOException {
+        ExtractionMetrics metrics = options.isMetricsEnabled() ? ExtractionMetrics.start() : ExtractionMetrics.disabled();
+        if (options.isJfrEventsEnabled()) {
+            ExtractionEvents.register();
+        }
         
-        // Count test cases with URLs
-        long testCasesWithUrls = testCases.stream()
-                .filter(tc -> tc.getTestURL() != null && !tc.getTestURL().trim().isEmpty())
-                .count();
-        summary.put("testCasesWithUrls", testCasesWithUrls);
-        summary.put("testCasesWithoutUrls", testCases.size() - testCasesWithUrls);
+        // Walk the project once and classify every file
+        long startTime = metrics.startTime();
+        long startAllocated = metrics.threadAllocatedBytes();
+        ProjectFiles projectFiles = ProjectFileWalker.walk(projectPath);
+        metrics.recordWork(ExtractionMetrics.Phase.WALK, startTime, startAllocated);
         
-        // List unique URLs found
-        List<String> uniqueUrls = testCases.stream()
-                .map(TestCase::getTestURL)
-                .filter(url -> url != null && !url.trim().isEmpty())
-                .distinct()
-                .collect(Collectors.toList());
-        summary.put("uniqueUrls", uniqueUrls);
-        summary.put("uniqueUrlCount", uniqueUrls.size());
+        // Load config URLs first
+        startTime = metrics.startTime();
+        startAllocated = metrics.threadAllocatedBytes();
+        Map<String, String> configUrls = ConfigPropertiesReader.loadUrlsFromProject(projectPath, projectFiles);
+        metrics.recordWork(ExtractionMetrics.Phase.CONFIG, startTime, startAllocated);
         
-        // Group test cases by URL
-        Map<String, Long> urlCounts = testCases.stream()
-                .filter(tc -> tc.getTestURL() != null && !tc.getTestURL().trim().isEmpty())
-                .collect(java.util.stream.Collectors.groupingBy(
-                    TestCase::getTestURL,
-                    java.util.stream.Collectors.counting()
-                ));
-        summary.put("testCasesByUrl", urlCounts);
+        // Test files the page object phase parsed are retained for the test phase, up to the queue depth
+        CompilationUnitCache cache = new CompilationUnitCache(metrics, options.getSourceCharset(), 
+                options.getQueueDepth());
         
-        // Add page object element counts
-        Map<String, Integer> pageObjectElementCounts = pageObjects.entrySet().stream()
-                .collect(Collectors.toMap(
-                    Map.Entry::getKey,
-                    entry -> entry.getValue().getElements().size()
-                ));
-        summary.put("pageObjectElementCounts", pageObjectElementCounts);
+        try (JsonReportWriter writer = new JsonReportWriter(new File(outputFile), options.isCompactOutput(), 
+                options.isSelectorPool())) {
+            // Extract page objects first (required for test case extraction)
+            Map<String, PageObject> pageObjects = 
+                    PageObjectExtractor.extractPageObjects(projectFiles, pool, cache, extractionCache, metrics);
+            
+            ExtractionEvents.OutputChunkWritten headerEvent = new ExtractionEvents.OutputChunkWritten();
+            headerEvent.begin();
+            startTime = metrics.startTime();
+            startAllocated = metrics.threadAllocatedBytes();
+            writer.writeHeader(pageObjects, configUrls);
+            metrics.recordWork(ExtractionMetrics.Phase.OUTPUT, startTime, startAllocated);
+            commit(headerEvent, outputFile, "header");
+            
+            // Selector lookups during test extraction go through an index over the page objects
+            PageObjectIndex index = new PageObjectIndex(pageObjects);
+            
+            // Extract test cases using the new TestMethodExtractor, writing each one as it is produced
+            TestMethodExtractor testMethodExtractor = new TestMethodExtractor(metrics);
+            try {
+                testMethodExtractor.extractTestCases(projectFiles, index, configUrls, pool, cache, 
+                        extractionCache, testCase -> {
+                    ExtractionEvents.OutputChunkWritten testCaseEvent = new ExtractionEvents.OutputChunkWritten();
+                    testCaseEvent.begin();
+                    long writeStart = metrics.startTime();
+                    long writeAllocated = metrics.threadAllocatedBytes();
+                    try {
+                        writer.writeTestCase(testCase);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    metrics.recordWork(ExtractionMetrics.Phase.OUTPUT, writeStart, writeAllocated);
+                    commit(testCaseEvent, outputFile, testCase.getClassName() + "." + testCase.getTestName());
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            
+            // Summary statistics come last, from running totals
+            ExtractionEvents.OutputChunkWritten summaryEvent = new ExtractionEvents.OutputChunkWritten();
+            summaryEvent.begin();
+            startTime = metrics.startTime();
+            startAllocated = metrics.threadAllocatedBytes();
+            writer.finish();
+            metrics.recordWork(ExtractionMetrics.Phase.OUTPUT, startTime, startAllocated);
+            commit(summaryEvent, outputFile, "summary");
+        }
         
-        // Calculate total elements across all page objects
-        int totalElements = pageObjects.values().stream()
-                .mapToInt(po -> po.getElements().size())
-                .sum();
-        summary.put("totalElements", totalElements);
+        System.out.println("Pre-filter: skipped " + cache.getSkippedFiles() + "/" + 
+                projectFiles.getPageObjectCandidates().size() + " Java files without test or page object markers");
         
-        // Add config URLs information
-        summary.put("configUrls", configUrls);
+        if (metrics.isEnabled()) {
+            metrics.add(ExtractionMetrics.Counter.OUTPUT_BYTES, new File(outputFile).length());
+            metrics.finish();
+            MetricsExporter.export(metrics, outputFile);
+            System.out.println("Metrics written to: " + MetricsExporter.jsonFileFor(outputFile) + " and " + 
+                    MetricsExporter.prometheusFileFor(outputFile));
+        }
         
-        return summary;
+        if (extractionCache.isEnabled()) {
+            extractionCache.pruneUnused();
+            System.out.println("Extraction cache: reused " + extractionCache.getPageObjectHits() + "/" + 
+                    projectFiles.getPageObjectCandidates().size() + " page object checks and " + 
+                    extractionCache.getTestHits() + "/" + projectFiles.getTestFiles().size() + " test files");
+        }
+    }
+    
+    private static void commit(ExtractionEvents.OutputChunkWritten event, String outputFile, String chunk) {
+        if (event.shouldCommit()) {
+            event.path = outputFile;
+            event.chunk = chunk;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Creates the worker and I/O threads for the configured worker count and queue depth
+     */
+    static ExtractionPool newExtractionPool(ParserOptions options) {
+        return new ExtractionPool(options.getWorkerCount(), options.getIoThreadCount(), options.getQueueDepth());
+    }
+    
+    /**
+     * Opens the on-disk extraction cache if it is enabled; with retainInMemory the entries
+     * are also kept for repeated runs in this JVM, even without an on-disk cache.
+     */
+    static ExtractionCache openExtractionCache(Path projectRoot, ParserOptions options, boolean retainInMemory) 
+            throws IOException {
+        return openExtractionCache(projectRoot, options, retainInMemory, false);
+    }
+    
+    /**
+     * Opens the extraction cache for one of several projects run in this JVM. Entries are keyed
+     * by path relative to the project, so when --cache-dir is shared every project gets its own
+     * subdirectory; otherwise one project's pruning would delete all the others' entries.
+     */
+    static ExtractionCache openExtractionCache(Path projectRoot, ParserOptions options, boolean retainInMemory, 
+                                               boolean sharedDirectory) throws IOException {
+        if (!options.isCacheEnabled()) {
+            return retainInMemory ? ExtractionCache.inMemory(projectRoot) : ExtractionCache.disabled();
+        }
+        Path cacheDirectory = options.getCacheDirectory() != null 
+                ? Paths.get(options.getCacheDirectory()) 
+                : projectRoot.resolve(ExtractionCache.DEFAULT_DIRECTORY);
+        if (sharedDirectory && options.getCacheDirectory() != null) {
+            cacheDirectory = cacheDirectory.resolve(projectCacheName(projectRoot));
+        }
+        return retainInMemory 
+                ? ExtractionCache.openRetained(cacheDirectory, projectRoot) 
+                : ExtractionCache.open(cacheDirectory, projectRoot);
+    }
+    
+    /**
+     * Directory name for a project inside a shared cache directory: the project's folder name
+     * for readability, and a hash of its absolute path so projects with the same name differ
+     */
+    private static String projectCacheName(Path projectRoot) {
+        Path absoluteRoot = projectRoot.toAbsolutePath().normalize();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(absoluteRoot.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            name.append(absoluteRoot.getFileName() != null ? absoluteRoot.getFileName() : "root").append('-');
+            for (int i = 0; i < 8; i++) {
+                name.append(String.format("%02x", hash[i]));
+            }
+            return name.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
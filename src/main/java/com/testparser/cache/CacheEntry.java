@@ -0,0 +1,83 @@
+package com.testparser.cache;
+
+import com.testparser.models.TestCase;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extraction results stored for one source file, keyed by its fingerprint
+ */
+public class CacheEntry {
+    private String path;
+    private long size;
+    private long lastModified;
+    private String contentHash;
+    private String parserVersion;
+    
+    // Page object phase result
+    private boolean pageObjectChecked;
+    private String pageObjectClassName;
+    private Map<String, String> pageObjectElements;
+    
+    // Test phase result, valid only for the page objects and config URLs it was extracted against
+    private String testDependencyDigest;
+    private List<TestCase> testCases;
+    
+    public CacheEntry() {}
+    
+    public CacheEntry(String path, long size, long lastModified, String contentHash, String parserVersion) {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+        this.parserVersion = parserVersion;
+    }
+    
+    /**
+     * Shallow copy, so a retained entry is not modified by the run that reuses it
+     */
+    public CacheEntry copy() {
+        CacheEntry copy = new CacheEntry(path, size, lastModified, contentHash, parserVersion);
+        copy.pageObjectChecked = pageObjectChecked;
+        copy.pageObjectClassName = pageObjectClassName;
+        copy.pageObjectElements = pageObjectElements;
+        copy.testDependencyDigest = testDependencyDigest;
+        copy.testCases = testCases;
+        return copy;
+    }
+    
+    /**
+     * True if this entry was stored for the same file contents and parser version
+     */
+    public boolean matches(CacheEntry other) {
+        return path.equals(other.path) &&
+               size == other.size &&
+               lastModified == other.lastModified &&
+               contentHash.equals(other.contentHash) &&
+               parserVersion.equals(other.parserVersion);
+    }
+    
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public long getLastModified() { return lastModified; }
+    public void setLastModified(long lastModified) { this.lastModified = lastModified; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public String getParserVersion() { return parserVersion; }
+    public void setParserVersion(String parserVersion) { this.parserVersion = parserVersion; }
+    
+    public boolean isPageObjectChecked() { return pageObjectChecked; }
+    public void setPageObjectChecked(boolean pageObjectChecked) { this.pageObjectChecked = pageObjectChecked; }
+    public String getPageObjectClassName() { return pageObjectClassName; }
+    public void setPageObjectClassName(String pageObjectClassName) { this.pageObjectClassName = pageObjectClassName; }
+    public Map<String, String> getPageObjectElements() { return pageObjectElements; }
+    public void setPageObjectElements(Map<String, String> pageObjectElements) { this.pageObjectElements = pageObjectElements; }
+    
+    public String getTestDependencyDigest() { return testDependencyDigest; }
+    public void setTestDependencyDigest(String testDependencyDigest) { this.testDependencyDigest = testDependencyDigest; }
+    public List<TestCase> getTestCases() { return testCases; }
+    public void setTestCases(List<TestCase> testCases) { this.testCases = testCases; }
+}
@@ -0,0 +1,292 @@
+package com.testparser.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testparser.models.PageObject;
+import com.testparser.models.TestCase;
+import com.testparser.utils.SourceReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of per-file extraction results so unchanged files skip JavaParser.
+ * Entries live on disk, in memory for repeated runs in one JVM, or both.
+ * Entries are keyed by path, size, modification time, content hash and parser version.
+ * Test results additionally record a digest of every page object and config URL they were
+ * extracted against: selector resolution scans the whole page object map, so any page
+ * object or config change invalidates cached test cases.
+ */
+public class ExtractionCache {
+    
+    /**
+     * Bump whenever extraction output changes for the same source
+     */
+    public static final String PARSER_VERSION = "4";
+    
+    public static final String DEFAULT_DIRECTORY = ".testparser-cache";
+    
+    private static final ExtractionCache DISABLED = new ExtractionCache(null, null, false);
+    
+    private final Path directory;
+    private final Path projectRoot;
+    private final ObjectMapper mapper = new ObjectMapper();
+    
+    // Entries kept across runs in this JVM, keyed by relative path; null unless retained in memory
+    private final ConcurrentMap<String, CacheEntry> retained;
+    
+    // Per-run state
+    private final ConcurrentMap<Path, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Set<String> usedPaths = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pageObjectHits = new AtomicInteger();
+    private final AtomicInteger testHits = new AtomicInteger();
+    private volatile Set<Path> changedFiles;
+    
+    private ExtractionCache(Path directory, Path projectRoot, boolean retainInMemory) {
+        this.directory = directory;
+        this.projectRoot = projectRoot;
+        this.retained = retainInMemory ? new ConcurrentHashMap<>() : null;
+    }
+    
+    /**
+     * A cache that never stores anything
+     */
+    public static ExtractionCache disabled() {
+        return DISABLED;
+    }
+    
+    /**
+     * Open (and create if needed) the cache directory for a project
+     */
+    public static ExtractionCache open(Path directory, Path projectRoot) throws IOException {
+        Files.createDirectories(directory);
+        return new ExtractionCache(directory, projectRoot, false);
+    }
+    
+    /**
+     * Open the cache directory and also keep entries in memory for repeated runs in one JVM
+     */
+    public static ExtractionCache openRetained(Path directory, Path projectRoot) throws IOException {
+        Files.createDirectories(directory);
+        return new ExtractionCache(directory, projectRoot, true);
+    }
+    
+    /**
+     * A cache that only lives in memory for repeated runs in one JVM
+     */
+    public static ExtractionCache inMemory(Path projectRoot) {
+        return new ExtractionCache(null, projectRoot, true);
+    }
+    
+    public boolean isEnabled() {
+        return directory != null || retained != null;
+    }
+    
+    /**
+     * Reset per-run state before re-extracting a project with this cache.
+     * If the changed files are known, retained entries for every other file are reused
+     * without reading the file again; pass null to fingerprint every file.
+     */
+    public void beginRun(Set<Path> changedFiles) {
+        entries.clear();
+        usedPaths.clear();
+        pageObjectHits.set(0);
+        testHits.set(0);
+        this.changedFiles = changedFiles;
+    }
+    
+    /**
+     * Return this run's entry for a file, carrying over stored results if the file is unchanged.
+     * Returns null when the cache is disabled.
+     */
+    public CacheEntry entryFor(Path file) throws IOException {
+        if (!isEnabled()) {
+            return null;
+        }
+        
+        CacheEntry entry = entries.get(file);
+        if (entry != null) {
+            return entry;
+        }
+        
+        String relativePath = relativePath(file);
+        usedPaths.add(relativePath);
+        
+        CacheEntry known = retained != null ? retained.get(relativePath) : null;
+        Set<Path> changed = changedFiles;
+        if (known != null && changed != null && !changed.contains(file)) {
+            // The watcher reported no change for this file
+            entry = known.copy();
+        } else {
+            entry = fingerprint(file, relativePath);
+            CacheEntry stored = known != null ? known : load(relativePath);
+            if (stored != null && stored.matches(entry)) {
+                entry = stored.copy();
+            }
+        }
+        
+        entries.put(file, entry);
+        return entry;
+    }
+    
+    /**
+     * Store an entry in memory and/or on disk
+     */
+    public void save(CacheEntry entry) throws IOException {
+        if (retained != null) {
+            retained.put(entry.getPath(), entry.copy());
+        }
+        if (directory != null) {
+            Path entryFile = entryFile(entry.getPath());
+            Path tempFile = entryFile.resolveSibling(entryFile.getFileName() + ".tmp");
+            mapper.writeValue(tempFile.toFile(), entry);
+            Files.move(tempFile, entryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+    
+    private CacheEntry load(String relativePath) {
+        if (directory == null) {
+            return null;
+        }
+        Path entryFile = entryFile(relativePath);
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+        try {
+            return mapper.readValue(entryFile.toFile(), CacheEntry.class);
+        } catch (IOException e) {
+            // Unreadable entries are treated as a miss and overwritten
+            return null;
+        }
+    }
+    
+    /**
+     * Cached test cases for the entry, or null if they were extracted against other dependencies
+     */
+    public List<TestCase> cachedTestCases(CacheEntry entry, String dependencyDigest) {
+        if (entry == null || entry.getTestCases() == null || !dependencyDigest.equals(entry.getTestDependencyDigest())) {
+            return null;
+        }
+        testHits.incrementAndGet();
+        return entry.getTestCases();
+    }
+    
+    /**
+     * True if the entry already holds the page object check result for its file
+     */
+    public boolean hasPageObjectResult(CacheEntry entry) {
+        if (entry == null || !entry.isPageObjectChecked()) {
+            return false;
+        }
+        pageObjectHits.incrementAndGet();
+        return true;
+    }
+    
+    public Path getProjectRoot() { return projectRoot; }
+    
+    public int getPageObjectHits() { return pageObjectHits.get(); }
+    public int getTestHits() { return testHits.get(); }
+    
+    /**
+     * Delete entries for files that were not seen in this run
+     */
+    public void pruneUnused() throws IOException {
+        if (retained != null) {
+            retained.keySet().retainAll(usedPaths);
+        }
+        if (directory == null) {
+            return;
+        }
+        
+        Set<String> usedEntryFiles = new HashSet<>();
+        for (String relativePath : usedPaths) {
+            usedEntryFiles.add(entryFile(relativePath).getFileName().toString());
+        }
+        
+        List<Path> stale = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path entryFile : stream) {
+                if (!usedEntryFiles.contains(entryFile.getFileName().toString())) {
+                    stale.add(entryFile);
+                }
+            }
+        }
+        for (Path entryFile : stale) {
+            Files.deleteIfExists(entryFile);
+        }
+    }
+    
+    /**
+     * Digest of everything test extraction depends on besides the test file itself
+     */
+    public static String dependencyDigest(Map<String, PageObject> pageObjects, Map<String, String> configUrls) {
+        MessageDigest digest = sha256();
+        // Iteration order matters to the first-match selector strategies, so it is part of the digest
+        for (PageObject pageObject : pageObjects.values()) {
+            update(digest, "P", pageObject.getClassName());
+            for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
+                update(digest, "E", element.getKey());
+                update(digest, "S", element.getValue());
+            }
+        }
+        for (Map.Entry<String, String> url : configUrls.entrySet()) {
+            update(digest, "U", url.getKey());
+            update(digest, "V", url.getValue());
+        }
+        return toHex(digest.digest());
+    }
+    
+    private CacheEntry fingerprint(Path file, String relativePath) throws IOException {
+        ByteBuffer content = SourceReader.read(file);
+        int size = content.remaining();
+        MessageDigest digest = sha256();
+        digest.update(content);
+        return new CacheEntry(relativePath, size, Files.getLastModifiedTime(file).toMillis(),
+                toHex(digest.digest()), PARSER_VERSION);
+    }
+    
+    private String relativePath(Path file) {
+        return projectRoot.relativize(file).toString().replace('\\', '/');
+    }
+    
+    private Path entryFile(String relativePath) {
+        MessageDigest digest = sha256();
+        return directory.resolve(toHex(digest.digest(relativePath.getBytes(StandardCharsets.UTF_8))) + ".json");
+    }
+    
+    private static void update(MessageDigest digest, String tag, String value) {
+        digest.update(tag.getBytes(StandardCharsets.UTF_8));
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
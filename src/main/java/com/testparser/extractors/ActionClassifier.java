@@ -0,0 +1,150 @@
+package com.testparser.extractors;
+
+import com.testparser.models.ActionType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classifies method names into step action types. All keywords are compiled once into a
+ * single automaton that scans the name in one pass; when keywords of several actions occur
+ * in a name, the action declared first wins (so "selectAndClick" is always a click).
+ * Matching is case-insensitive for ASCII letters only, like the regular expressions it replaces.
+ */
+public class ActionClassifier {
+    
+    // Keywords for each action type, in ActionType declaration (priority) order
+    private static final ActionType[] ACTION_TYPES = ActionType.values();
+    private static final String[][] KEYWORDS = {
+        {"click"},
+        {"sendKeys", "type", "setText", "enterText", "enter"},
+        {"select"},
+        {"wait", "until"},
+        {"assert"},
+        {"verify", "expect", "should", "check"},
+        {"get", "navigate", "goTo"},
+        {"drag", "dragAndDrop"}
+    };
+    
+    private static final int ALPHABET = 26;
+    private static final int NO_ACTION = -1;
+    private static final int MAX_CACHED_NAMES = 4096;
+    
+    private static final ActionClassifier DEFAULT = new ActionClassifier();
+    
+    private final int[][] transitions;
+    private final int[] bestAction;
+    private final Map<String, Integer> memo = new ConcurrentHashMap<>();
+    
+    private ActionClassifier() {
+        List<int[]> gotos = new ArrayList<>();
+        List<Integer> actions = new ArrayList<>();
+        gotos.add(newState());
+        actions.add(Integer.MAX_VALUE);
+        
+        // Keyword trie; each state remembers the highest priority keyword ending there
+        for (int action = 0; action < KEYWORDS.length; action++) {
+            for (String keyword : KEYWORDS[action]) {
+                int state = 0;
+                for (char c : keyword.toCharArray()) {
+                    int letter = letterIndex(c);
+                    if (gotos.get(state)[letter] == 0) {
+                        gotos.get(state)[letter] = gotos.size();
+                        gotos.add(newState());
+                        actions.add(Integer.MAX_VALUE);
+                    }
+                    state = gotos.get(state)[letter];
+                }
+                actions.set(state, Math.min(actions.get(state), action));
+            }
+        }
+        
+        // Turn the trie into a complete automaton (Aho-Corasick), merging outputs along failure links
+        int stateCount = gotos.size();
+        transitions = gotos.toArray(new int[stateCount][]);
+        bestAction = new int[stateCount];
+        int[] failure = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            bestAction[state] = actions.get(state);
+        }
+        
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            if (transitions[0][letter] != 0) {
+                queue.add(transitions[0][letter]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            bestAction[state] = Math.min(bestAction[state], bestAction[failure[state]]);
+            for (int letter = 0; letter < ALPHABET; letter++) {
+                int next = transitions[state][letter];
+                int fallback = transitions[failure[state]][letter];
+                if (next != 0) {
+                    failure[next] = fallback;
+                    queue.add(next);
+                } else {
+                    transitions[state][letter] = fallback;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Shared classifier instance; safe for use from multiple threads
+     */
+    public static ActionClassifier getDefault() {
+        return DEFAULT;
+    }
+    
+    /**
+     * Action type for a method name, or null if the name contains no action keyword
+     */
+    public ActionType classify(String methodName) {
+        Integer cached = memo.get(methodName);
+        if (cached == null) {
+            cached = scan(methodName);
+            // Bounded: names beyond the limit are classified again on every call
+            if (memo.size() < MAX_CACHED_NAMES) {
+                memo.put(methodName, cached);
+            }
+        }
+        return cached != NO_ACTION ? ACTION_TYPES[cached] : null;
+    }
+    
+    private int scan(String methodName) {
+        int state = 0;
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < methodName.length(); i++) {
+            int letter = letterIndex(methodName.charAt(i));
+            state = letter >= 0 ? transitions[state][letter] : 0;
+            best = Math.min(best, bestAction[state]);
+            if (best == 0) {
+                // Nothing outranks the first action
+                break;
+            }
+        }
+        return best != Integer.MAX_VALUE ? best : NO_ACTION;
+    }
+    
+    private static int[] newState() {
+        return new int[ALPHABET];
+    }
+    
+    /**
+     * Index of an ASCII letter regardless of case, or -1 for any other character
+     */
+    private static int letterIndex(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,191 @@
+package com.testparser.extractors;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.testparser.metrics.ExtractionEvents;
+import com.testparser.metrics.ExtractionMetrics;
+import com.testparser.utils.SourceReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads and parses source files for the extraction phases. Reading, which includes the
+ * byte-level pre-filter, and parsing are separate steps so a pipeline can run them on
+ * different threads. Parsed files are dropped as soon as their phase is done with them,
+ * except that up to a fixed number can be retained between phases, so a test file the page
+ * object phase already parsed is usually not parsed again while memory stays bounded.
+ */
+public class CompilationUnitCache {
+    
+    private final ParserConfiguration configuration = new ParserConfiguration();
+    private final ConcurrentMap<Path, SourceFile> retainedFiles = new ConcurrentHashMap<>();
+    private final AtomicInteger retainedCount = new AtomicInteger();
+    private final int retainCapacity;
+    private final ExtractionMetrics metrics;
+    private final SourceReader reader;
+    private final AtomicInteger skippedFiles = new AtomicInteger();
+    
+    // Markers of every file read in this run; files are counted the first time they are read
+    private final ConcurrentMap<Path, SourceMarkers> scannedFiles = new ConcurrentHashMap<>();
+    
+    public CompilationUnitCache() {
+        this(ExtractionMetrics.disabled());
+    }
+    
+    /**
+     * Cache that records read and parse costs in the given metrics
+     */
+    public CompilationUnitCache(ExtractionMetrics metrics) {
+        this(metrics, SourceReader.DEFAULT_CHARSET);
+    }
+    
+    /**
+     * Cache that decodes source files with the given charset and retains any number of parsed files
+     */
+    public CompilationUnitCache(ExtractionMetrics metrics, Charset charset) {
+        this(metrics, charset, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Cache that decodes source files with the given charset and retains at most
+     * retainCapacity parsed files between phases
+     */
+    public CompilationUnitCache(ExtractionMetrics metrics, Charset charset, int retainCapacity) {
+        this.metrics = metrics;
+        this.reader = new SourceReader(charset);
+        this.retainCapacity = retainCapacity;
+    }
+    
+    /**
+     * Read a file and run the pre-filter over it. The text is decoded only if the file has
+     * markers; the returned file is not parsed yet.
+     */
+    public SourceFile read(Path path) throws IOException {
+        long startTime = metrics.startTime();
+        ByteBuffer bytes = SourceReader.read(path);
+        int size = bytes.remaining();
+        
+        // The pre-filter scans raw bytes when the charset allows it, so skipped files are never decoded.
+        // Small files are read into a buffer reused by this thread, so decoding must happen here.
+        String source = reader.isAsciiCompatible() ? null : reader.decode(bytes);
+        SourceMarkers markers = source == null 
+                ? SourceMarkers.scan(bytes) 
+                : SourceMarkers.scan(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)));
+        boolean firstRead = scannedFiles.putIfAbsent(path, markers) == null;
+        if (!markers.isParseCandidate()) {
+            source = null;
+            if (firstRead) {
+                skippedFiles.incrementAndGet();
+                metrics.increment(ExtractionMetrics.Counter.FILES_SKIPPED);
+                
+                ExtractionEvents.FileParsed event = new ExtractionEvents.FileParsed();
+                if (event.shouldCommit()) {
+                    event.path = path.toString();
+                    event.bytes = size;
+                    event.skipped = true;
+                    event.commit();
+                }
+            }
+        } else if (source == null) {
+            source = reader.decode(bytes);
+        }
+        
+        metrics.recordTime(ExtractionMetrics.Phase.READ, startTime);
+        if (firstRead) {
+            metrics.increment(ExtractionMetrics.Counter.FILES_READ);
+            metrics.add(ExtractionMetrics.Counter.BYTES_READ, size);
+        }
+        return new SourceFile(path, size, source, markers, null);
+    }
+    
+    /**
+     * Markers found when the file was first read in this run, or null if it has not been read
+     */
+    public SourceMarkers markersFor(Path path) {
+        return scannedFiles.get(path);
+    }
+    
+    /**
+     * Parse a file returned by {@link #read}. Files skipped by the pre-filter and files that
+     * are already parsed are returned unchanged.
+     */
+    public SourceFile parse(SourceFile sourceFile) {
+        if (sourceFile.getSource() == null || sourceFile.getCompilationUnit() != null) {
+            return sourceFile;
+        }
+        
+        ExtractionEvents.FileParsed event = new ExtractionEvents.FileParsed();
+        event.begin();
+        long startTime = metrics.startTime();
+        String source = sourceFile.getSource();
+        CompilationUnit cu = new JavaParser(configuration).parse(source).getResult().orElse(null);
+        if (cu != null) {
+            // Node text is sliced from the source instead of pretty-printing the AST
+            SourceText.attach(cu, source);
+        }
+        
+        if (event.shouldCommit()) {
+            event.path = sourceFile.getPath().toString();
+            event.bytes = sourceFile.getSize();
+            event.parsed = cu != null;
+            event.commit();
+        }
+        metrics.recordTime(ExtractionMetrics.Phase.PARSE, startTime);
+        return new SourceFile(sourceFile.getPath(), sourceFile.getSize(), source, sourceFile.getMarkers(), cu);
+    }
+    
+    /**
+     * Keep a parsed file for a later phase if there is room; returns false if it was not kept
+     */
+    public boolean retain(SourceFile sourceFile) {
+        if (retainedCount.incrementAndGet() > retainCapacity) {
+            retainedCount.decrementAndGet();
+            return false;
+        }
+        if (retainedFiles.put(sourceFile.getPath(), sourceFile) != null) {
+            retainedCount.decrementAndGet();
+        }
+        return true;
+    }
+    
+    /**
+     * Remove and return a retained file, or null if it was not retained
+     */
+    public SourceFile takeRetained(Path path) {
+        SourceFile sourceFile = retainedFiles.remove(path);
+        if (sourceFile != null) {
+            retainedCount.decrementAndGet();
+        }
+        return sourceFile;
+    }
+    
+    /**
+     * Return the retained file, or read and parse it; used by the last consumer of a file
+     */
+    public SourceFile take(Path path) throws IOException {
+        SourceFile sourceFile = takeRetained(path);
+        return sourceFile != null ? sourceFile : parse(read(path));
+    }
+    
+    /**
+     * Drop a retained file without using it
+     */
+    public void release(Path path) {
+        takeRetained(path);
+    }
+    
+    /**
+     * Number of files read but not parsed because the pre-filter found no markers
+     */
+    public int getSkippedFiles() {
+        return skippedFiles.get();
+    }
+}
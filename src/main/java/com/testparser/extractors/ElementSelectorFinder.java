@@ -1,186 +1,219 @@
 package com.testparser.extractors;
 
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
-import com.testparser.models.PageObject;
+import com.github.javaparser.ast.expr.SimpleName;
+import com.testparser.metrics.ExtractionEvents;
+import com.testparser.metrics.ExtractionMetrics;
 
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 /**
  * Handles finding element selectors using multiple strategies
  */
 public class ElementSelectorFinder {
     
+    private static final String[] BOOLEAN_PREFIXES = {"is", "has", "can", "should"};
+    private static final char LITERAL_PLACEHOLDER = '\u0000';
+    
     private final SemanticMatcher semanticMatcher;
+    private final ExtractionMetrics metrics;
+    private volatile SelectorResolutionCache resolutionCache;
     
     public ElementSelectorFinder() {
+        this(ExtractionMetrics.disabled());
+    }
+    
+    /**
+     * Finder that counts which strategy resolved each lookup
+     */
+    public ElementSelectorFinder(ExtractionMetrics metrics) {
         this.semanticMatcher = new SemanticMatcher();
+        this.metrics = metrics;
     }
     
     /**
-     * Find element selector using multiple strategies
+     * Find element selector using multiple strategies. Results are memoized per call shape,
+     * so a call repeated across steps and test cases is resolved once per page object index.
      */
-    public String findElementSelector(MethodCallExpr call, Map<String, PageObject> pageObjects) {
-        String scope = call.getScope().map(Object::toString).orElse("");
+    public String findElementSelector(MethodCallExpr call, PageObjectIndex index) {
+        ExtractionEvents.SelectorResolved event = new ExtractionEvents.SelectorResolved();
+        event.begin();
+        SelectorResolutionCache cache = resolutionCacheFor(index);
+        String shape = callShape(call);
+        SelectorResolutionCache.Resolution resolution = cache.get(shape);
+        boolean cached = resolution != null;
+        if (cached) {
+            metrics.increment(ExtractionMetrics.Counter.SELECTOR_CACHE_HITS);
+        } else {
+            metrics.increment(ExtractionMetrics.Counter.SELECTOR_CACHE_MISSES);
+            resolution = resolve(call, index);
+            cache.put(shape, resolution);
+        }
+        
+        metrics.recordStrategy(resolution.getStrategy());
+        if (event.shouldCommit()) {
+            event.call = SourceText.of(call);
+            event.strategy = resolution.getStrategy().getLabel();
+            event.selector = resolution.getSelector();
+            event.cached = cached;
+            event.commit();
+        }
+        return resolution.getSelector();
+    }
+    
+    /**
+     * Run the strategies in order and report the first that produces a selector
+     */
+    private SelectorResolutionCache.Resolution resolve(MethodCallExpr call, PageObjectIndex index) {
+        String scope = call.getScope().map(SourceText::of).orElse("");
         String methodName = call.getNameAsString();
         
         // Check if this is a boolean assertion first
         if (isBooleanAssertion(call)) {
-            String booleanElementSelector = inferElementFromBooleanAssertion(call, pageObjects);
+            String booleanElementSelector = inferElementFromBooleanAssertion(call, index);
             if (booleanElementSelector != null) {
-                return booleanElementSelector;
+                return new SelectorResolutionCache.Resolution(booleanElementSelector, 
+                        ExtractionMetrics.Strategy.BOOLEAN_ASSERTION);
             }
         }
         
         // Strategy 1: Look for direct By.* selector in method call
-        String callString = call.toString();
-        if (callString.contains("By.")) {
-            Pattern byPattern = Pattern.compile("By\\.[a-zA-Z]+\\([^)]+\\)");
-            Matcher matcher = byPattern.matcher(callString);
-            if (matcher.find()) {
-                return matcher.group();
-            }
+        Optional<MethodCallExpr> locator = findByLocator(call);
+        if (locator.isPresent()) {
+            return new SelectorResolutionCache.Resolution(locatorText(locator.get()), 
+                    ExtractionMetrics.Strategy.BY_LOCATOR);
         }
         
         // Strategy 2: Extract element from assertion method arguments
-        String assertionElementSelector = extractElementFromAssertionArgs(call, pageObjects);
+        String assertionElementSelector = extractElementFromAssertionArgs(call, index);
         if (assertionElementSelector != null) {
-            return assertionElementSelector;
+            return new SelectorResolutionCache.Resolution(assertionElementSelector, 
+                    ExtractionMetrics.Strategy.ASSERTION_ARGUMENTS);
         }
         
         // Strategy 3: Match page object method calls (e.g., loginPage.clickLoginButton())
-        for (PageObject pageObject : pageObjects.values()) {
-            String pageObjectClassName = pageObject.getClassName();
-            
-            // Check if scope matches page object class
-            if (scope.toLowerCase().contains(pageObjectClassName.toLowerCase()) || 
-                scope.toLowerCase().contains(pageObjectClassName.toLowerCase().replace("page", ""))) {
-                
-                // Direct method name match
-                if (pageObject.getElements().containsKey(methodName)) {
-                    return pageObject.getElements().get(methodName);
-                }
-                
-                // Match after removing action prefixes (including assertion prefixes)
-                String elementName = removeActionPrefixes(methodName);
-                if (pageObject.getElements().containsKey(elementName)) {
-                    return pageObject.getElements().get(elementName);
-                }
-                
-                // Partial matches (case-insensitive)
-                for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
-                    String elementKey = element.getKey().toLowerCase();
-                    String methodLower = methodName.toLowerCase();
-                    String elementNameLower = elementName.toLowerCase();
-                    
-                    if (elementKey.contains(methodLower) || methodLower.contains(elementKey) ||
-                        elementKey.contains(elementNameLower) || elementNameLower.contains(elementKey)) {
-                        return element.getValue();
-                    }
-                }
-            }
+        String scopedElementSelector = findElementInPageObjects(scope, methodName, index);
+        if (scopedElementSelector != null) {
+            return new SelectorResolutionCache.Resolution(scopedElementSelector, 
+                    ExtractionMetrics.Strategy.SCOPED_PAGE_OBJECT);
         }
         
         // Strategy 4: Enhanced semantic matching across all page objects
-        String elementSelector = semanticMatcher.findElementBySemanticMatching(methodName, pageObjects);
+        String elementSelector = semanticMatcher.findElementBySemanticMatching(methodName, index);
         if (elementSelector != null) {
-            return elementSelector;
+            return new SelectorResolutionCache.Resolution(elementSelector, 
+                    ExtractionMetrics.Strategy.SEMANTIC);
         }
         
         // Strategy 5: Search all page objects without scope matching
-        for (PageObject pageObject : pageObjects.values()) {
-            // Direct match
-            if (pageObject.getElements().containsKey(methodName)) {
-                return pageObject.getElements().get(methodName);
-            }
-            
-            // Match after removing action prefixes (including assertion prefixes)
-            String elementName = removeActionPrefixes(methodName);
-            if (pageObject.getElements().containsKey(elementName)) {
-                return pageObject.getElements().get(elementName);
-            }
-            
-            // Enhanced partial matching for assertions
-            for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
-                String elementKey = element.getKey().toLowerCase();
-                String methodLower = methodName.toLowerCase();
-                String elementNameLower = elementName.toLowerCase();
-                
-                if (elementKey.contains(methodLower) || methodLower.contains(elementKey) ||
-                    elementKey.contains(elementNameLower) || elementNameLower.contains(elementKey)) {
-                    return element.getValue();
-                }
-            }
-        }
-        
-        return null;
+        // (direct match, then match after removing action prefixes, then partial match - per page object)
+        String elementName = removeActionPrefixes(methodName);
+        elementSelector = findElementInFirstMatchingPage(index, new String[]{methodName, elementName}, 
+                methodName.toLowerCase(), elementName.toLowerCase());
+        return new SelectorResolutionCache.Resolution(elementSelector, elementSelector != null 
+                ? ExtractionMetrics.Strategy.ANY_PAGE_OBJECT : ExtractionMetrics.Strategy.UNRESOLVED);
     }
     
     /**
-     * Check if this is a boolean assertion
+     * The resolution cache for an index; a different index (e.g. after a watch rebuild) starts a new one
      */
-    private boolean isBooleanAssertion(MethodCallExpr call) {
-        String callString = call.toString();
-        String methodName = call.getNameAsString();
-        
-        // Check for explicit boolean values
-        if (callString.contains("true") || callString.contains("false")) {
-            return true;
-        }
-        
-        // Check for boolean variable patterns (isXxx, hasXxx, canXxx, shouldXxx)
-        if (callString.matches(".*\\b(is[A-Z][a-zA-Z]*|has[A-Z][a-zA-Z]*|can[A-Z][a-zA-Z]*|should[A-Z][a-zA-Z]*)\\b.*")) {
-            return true;
+    private SelectorResolutionCache resolutionCacheFor(PageObjectIndex index) {
+        SelectorResolutionCache cache = resolutionCache;
+        if (cache == null || cache.getIndex() != index) {
+            cache = new SelectorResolutionCache(index);
+            resolutionCache = cache;
         }
+        return cache;
+    }
+    
+    /**
+     * Cache key for a call: scope text, method name and argument shapes. Literal arguments
+     * collapse to a placeholder since no strategy reads their text, so
+     * loginPage.enterUsername("alice") and loginPage.enterUsername("bob") share an entry.
+     * The first argument of an assertion is looked up by name and is always kept, and calls
+     * containing a By locator keep every literal since the locator is returned verbatim.
+     */
+    private String callShape(MethodCallExpr call) {
+        return callShape(call, !findByLocator(call).isPresent());
+    }
+    
+    private String callShape(MethodCallExpr call, boolean normalizeLiterals) {
+        StringBuilder shape = new StringBuilder();
+        call.getScope().ifPresent(scope -> shape.append(SourceText.of(scope)).append('.'));
+        call.getTypeArguments().ifPresent(typeArguments -> shape.append(typeArguments));
+        shape.append(call.getNameAsString()).append('(');
         
-        // Check if it's an assertion method with boolean-like arguments
-        if (isAssertionMethod(methodName)) {
-            if (call.getArguments().size() > 0) {
-                String firstArg = call.getArguments().get(0).toString();
-                // Check for boolean method patterns in arguments
-                if (firstArg.matches(".*(is[A-Z][a-zA-Z]*|has[A-Z][a-zA-Z]*|can[A-Z][a-zA-Z]*|should[A-Z][a-zA-Z]*)\\(\\).*")) {
-                    return true;
-                }
+        NodeList<Expression> arguments = call.getArguments();
+        int firstNormalized = isAssertionMethod(call.getNameAsString()) ? 1 : 0;
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i > 0) {
+                shape.append(", ");
+            }
+            if (normalizeLiterals && i >= firstNormalized && isInertLiteral(arguments.get(i))) {
+                shape.append(LITERAL_PLACEHOLDER);
+            } else {
+                shape.append(SourceText.of(arguments.get(i)));
             }
         }
-        
-        return false;
+        return shape.append(')').toString();
+    }
+    
+    /**
+     * A string, character or numeric literal. Boolean literals are not inert since they mark
+     * boolean assertions.
+     */
+    private boolean isInertLiteral(Expression argument) {
+        return argument.isStringLiteralExpr() || argument.isCharLiteralExpr() || argument.isIntegerLiteralExpr() 
+                || argument.isLongLiteralExpr() || argument.isDoubleLiteralExpr();
+    }
+    
+    /**
+     * Check if this is a boolean assertion: the call contains a boolean literal or a boolean-style
+     * name (isXxx, hasXxx, canXxx, shouldXxx) as a method, variable or field. Text inside
+     * string literals does not count.
+     */
+    private boolean isBooleanAssertion(MethodCallExpr call) {
+        return call.findFirst(BooleanLiteralExpr.class).isPresent() 
+                || call.findFirst(SimpleName.class, name -> isBooleanIdentifier(name.getIdentifier())).isPresent();
     }
     
     /**
      * Infer element selector from boolean assertion
      */
-    private String inferElementFromBooleanAssertion(MethodCallExpr call, Map<String, PageObject> pageObjects) {
-        String callString = call.toString();
-        
+    private String inferElementFromBooleanAssertion(MethodCallExpr call, PageObjectIndex index) {
         // Extract boolean variable/method name
-        String booleanIdentifier = extractBooleanIdentifier(callString);
+        String booleanIdentifier = extractBooleanIdentifier(call);
         if (booleanIdentifier != null) {
-            return findRelatedElement(booleanIdentifier, pageObjects);
+            return findRelatedElement(booleanIdentifier, index);
         }
         
         return null;
     }
     
     /**
-     * Extract boolean identifier from the call string
+     * Extract the first boolean identifier in the call, in source order
      */
-    private String extractBooleanIdentifier(String callString) {
-        // Pattern to match boolean identifiers like isProductClicked, hasLoginButton, etc.
-        Pattern booleanPattern = Pattern.compile("\\b(is[A-Z][a-zA-Z]*|has[A-Z][a-zA-Z]*|can[A-Z][a-zA-Z]*|should[A-Z][a-zA-Z]*)\\b");
-        Matcher matcher = booleanPattern.matcher(callString);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
+    private String extractBooleanIdentifier(MethodCallExpr call) {
+        // Boolean identifiers like isProductClicked, hasLoginButton, etc.
+        Optional<SimpleName> booleanName = 
+                call.findFirst(SimpleName.class, name -> isBooleanIdentifier(name.getIdentifier()));
+        if (booleanName.isPresent()) {
+            return booleanName.get().getIdentifier();
         }
         
-        // Also check for method calls like someMethod() that return boolean
-        Pattern methodCallPattern = Pattern.compile("([a-zA-Z][a-zA-Z0-9]*)\\(\\)");
-        matcher = methodCallPattern.matcher(callString);
-        
-        if (matcher.find()) {
-            String methodName = matcher.group(1);
+        // Also check the first call without arguments, like someMethod(), that may return boolean.
+        // Post-order visits the inner calls of a chain first, as they appear in the source.
+        Optional<String> firstNoArgumentCall = call.findFirst(Node.TreeTraversal.POSTORDER, node -> 
+                node instanceof MethodCallExpr && ((MethodCallExpr) node).getArguments().isEmpty() 
+                        ? Optional.of(((MethodCallExpr) node).getNameAsString()) 
+                        : Optional.empty());
+        if (firstNoArgumentCall.isPresent()) {
+            String methodName = firstNoArgumentCall.get();
             // Only consider if it looks like a boolean method
             if (methodName.startsWith("is") || methodName.startsWith("has") || 
                 methodName.startsWith("can") || methodName.startsWith("should") ||
@@ -193,10 +226,72 @@ public class ElementSelectorFinder {
         return null;
     }
     
+    /**
+     * A prefix such as is or has followed by an upper case letter, and only letters after it
+     */
+    private static boolean isBooleanIdentifier(String name) {
+        for (String prefix : BOOLEAN_PREFIXES) {
+            if (name.length() > prefix.length() && name.startsWith(prefix)) {
+                char next = name.charAt(prefix.length());
+                if (next < 'A' || next > 'Z') {
+                    return false;
+                }
+                for (int i = prefix.length() + 1; i < name.length(); i++) {
+                    char c = name.charAt(i);
+                    if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The first By.xxx(...) call in the call, itself included, in source order
+     */
+    private static Optional<MethodCallExpr> findByLocator(MethodCallExpr call) {
+        return call.findFirst(MethodCallExpr.class, ElementSelectorFinder::isByLocator);
+    }
+    
+    /**
+     * A call with arguments on By or a qualified name ending in By
+     */
+    private static boolean isByLocator(MethodCallExpr call) {
+        if (call.getArguments().isEmpty()) {
+            return false;
+        }
+        return call.getScope()
+                .map(scope -> (scope.isNameExpr() && scope.asNameExpr().getNameAsString().equals("By")) 
+                        || (scope.isFieldAccessExpr() && scope.asFieldAccessExpr().getNameAsString().equals("By")))
+                .orElse(false);
+    }
+    
+    /**
+     * The locator as By.name(arguments), with string literals written as in the source
+     */
+    private static String locatorText(MethodCallExpr locator) {
+        StringBuilder text = new StringBuilder("By.").append(locator.getNameAsString()).append('(');
+        NodeList<Expression> arguments = locator.getArguments();
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            Expression argument = arguments.get(i);
+            if (argument.isStringLiteralExpr()) {
+                text.append('"').append(argument.asStringLiteralExpr().getValue()).append('"');
+            } else {
+                text.append(SourceText.of(argument));
+            }
+        }
+        return text.append(')').toString();
+    }
+    
     /**
      * Find element related to the boolean identifier
      */
-    private String findRelatedElement(String booleanIdentifier, Map<String, PageObject> pageObjects) {
+    private String findRelatedElement(String booleanIdentifier, PageObjectIndex index) {
         if (booleanIdentifier == null) {
             return null;
         }
@@ -204,29 +299,19 @@ public class ElementSelectorFinder {
         // Extract key terms from boolean identifier
         String[] keyTerms = extractKeyTerms(booleanIdentifier);
         
-        for (PageObject pageObject : pageObjects.values()) {
-            for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
-                String elementKey = element.getKey().toLowerCase();
-                
-                // Check if element key contains any of the key terms
-                for (String term : keyTerms) {
-                    if (elementKey.contains(term.toLowerCase())) {
-                        return element.getValue();
-                    }
-                }
-                
-                // Reverse check - if any key term contains the element key
-                for (String term : keyTerms) {
-                    if (term.toLowerCase().contains(elementKey)) {
-                        return element.getValue();
-                    }
-                }
-            }
+        // First element whose key contains any key term, or is contained in one
+        int match = -1;
+        for (String term : keyTerms) {
+            match = PageObjectIndex.earliest(match, index.firstKeyContaining(term));
+            match = PageObjectIndex.earliest(match, index.firstKeyContainedIn(term));
+        }
+        if (match >= 0) {
+            return index.getSelector(match);
         }
         
         // If no direct match found, try semantic matching with the key terms
         for (String term : keyTerms) {
-            String semanticMatch = semanticMatcher.findElementBySemanticMatching(term, pageObjects);
+            String semanticMatch = semanticMatcher.findElementBySemanticMatching(term, index);
             if (semanticMatch != null) {
                 return semanticMatch;
             }
@@ -271,41 +356,80 @@ public class ElementSelectorFinder {
     /**
      * Extract element selector from assertion method arguments
      */
-    private String extractElementFromAssertionArgs(MethodCallExpr call, Map<String, PageObject> pageObjects) {
+    private String extractElementFromAssertionArgs(MethodCallExpr call, PageObjectIndex index) {
         String methodName = call.getNameAsString();
         
-        // Check if this is an assertion method
-        if (isAssertionMethod(methodName)) {
-            // Look for element references in the arguments
-            if (call.getArguments().size() > 0) {
-                String firstArg = call.getArguments().get(0).toString();
-                
-                // Check if argument contains a method call that might reference an element
-                if (firstArg.contains(".")) {
-                    String[] parts = firstArg.split("\\.");
-                    if (parts.length >= 2) {
-                        String possibleScope = parts[0];
-                        String possibleMethod = parts[1].replaceAll("\\([^)]*\\)", ""); // Remove parameters
-                        
-                        // Try to find element using the extracted scope and method
-                        String elementSelector = findElementInPageObjects(possibleScope, possibleMethod, pageObjects);
-                        if (elementSelector != null) {
-                            return elementSelector;
-                        }
-                    }
-                }
-                
-                // Check if argument directly references an element
-                String elementSelector = findElementDirectly(firstArg, pageObjects);
+        // Check if this is an assertion method with arguments
+        if (!isAssertionMethod(methodName) || call.getArguments().isEmpty()) {
+            return null;
+        }
+        Expression firstArg = call.getArguments().get(0);
+        
+        // For chains like loginPage.getUsername().trim(), the leftmost name is the page object
+        // and the member accessed on it names the element
+        Expression member = firstArg;
+        Expression scope = scopeOf(member);
+        while (scope != null && scopeOf(scope) != null) {
+            member = scope;
+            scope = scopeOf(scope);
+        }
+        if (scope != null) {
+            String possibleScope = scope.isNameExpr() ? scope.asNameExpr().getNameAsString() 
+                    : scope.isThisExpr() ? "this" : null;
+            if (possibleScope != null) {
+                String elementSelector = findElementInPageObjects(possibleScope, memberName(member), index);
                 if (elementSelector != null) {
                     return elementSelector;
                 }
             }
         }
         
+        // Check if argument directly references an element, by any of its names
+        String elementRef = elementReference(firstArg);
+        return elementRef != null ? findElementDirectly(elementRef, index) : null;
+    }
+    
+    /**
+     * The scope of a method call or field access, or null for any other expression
+     */
+    private static Expression scopeOf(Expression expression) {
+        if (expression.isMethodCallExpr()) {
+            return expression.asMethodCallExpr().getScope().orElse(null);
+        }
+        if (expression.isFieldAccessExpr()) {
+            return expression.asFieldAccessExpr().getScope();
+        }
         return null;
     }
     
+    private static String memberName(Expression expression) {
+        return expression.isMethodCallExpr() 
+                ? expression.asMethodCallExpr().getNameAsString() 
+                : expression.asFieldAccessExpr().getNameAsString();
+    }
+    
+    /**
+     * The names an argument refers to: a variable, a chain of names such as loginPage.getUsername
+     * (call arguments left out), or a string literal in quotes; null for other expressions
+     */
+    private static String elementReference(Expression expression) {
+        if (expression.isEnclosedExpr()) {
+            return elementReference(expression.asEnclosedExpr().getInner());
+        }
+        if (expression.isNameExpr()) {
+            return expression.asNameExpr().getNameAsString();
+        }
+        if (expression.isStringLiteralExpr()) {
+            return '"' + expression.asStringLiteralExpr().getValue() + '"';
+        }
+        Expression scope = scopeOf(expression);
+        if (scope == null) {
+            return null;
+        }
+        String scopeReference = scope.isThisExpr() ? "this" : elementReference(scope);
+        return scopeReference != null ? scopeReference + "." + memberName(expression) : null;
+    }
+    
     /**
      * Check if method is an assertion method
      */
@@ -327,36 +451,29 @@ public class ElementSelectorFinder {
     /**
      * Find element in page objects using scope and method
      */
-    private String findElementInPageObjects(String scope, String method, Map<String, PageObject> pageObjects) {
-        for (PageObject pageObject : pageObjects.values()) {
-            String pageObjectClassName = pageObject.getClassName();
+    private String findElementInPageObjects(String scope, String method, PageObjectIndex index) {
+        String elementName = removeActionPrefixes(method);
+        String methodLower = method.toLowerCase();
+        String elementNameLower = elementName.toLowerCase();
+        
+        // Only page objects whose class name matches the scope, in order
+        for (int page : index.pagesMatchingScope(scope.toLowerCase())) {
+            Map<String, String> elements = index.getPage(page).getElements();
             
-            // Check if scope matches page object class
-            if (scope.toLowerCase().contains(pageObjectClassName.toLowerCase()) || 
-                scope.toLowerCase().contains(pageObjectClassName.toLowerCase().replace("page", ""))) {
-                
-                // Direct method name match
-                if (pageObject.getElements().containsKey(method)) {
-                    return pageObject.getElements().get(method);
-                }
-                
-                // Match after removing action prefixes
-                String elementName = removeActionPrefixes(method);
-                if (pageObject.getElements().containsKey(elementName)) {
-                    return pageObject.getElements().get(elementName);
-                }
-                
-                // Partial matches
-                for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
-                    String elementKey = element.getKey().toLowerCase();
-                    String methodLower = method.toLowerCase();
-                    String elementNameLower = elementName.toLowerCase();
-                    
-                    if (elementKey.contains(methodLower) || methodLower.contains(elementKey) ||
-                        elementKey.contains(elementNameLower) || elementNameLower.contains(elementKey)) {
-                        return element.getValue();
-                    }
-                }
+            // Direct method name match
+            if (elements.containsKey(method)) {
+                return elements.get(method);
+            }
+            
+            // Match after removing action prefixes
+            if (elements.containsKey(elementName)) {
+                return elements.get(elementName);
+            }
+            
+            // Partial matches
+            int partial = index.firstPartialMatchInPage(page, methodLower, elementNameLower);
+            if (partial >= 0) {
+                return index.getSelector(partial);
             }
         }
         
@@ -366,25 +483,36 @@ public class ElementSelectorFinder {
     /**
      * Find element directly by name across all page objects
      */
-    private String findElementDirectly(String elementRef, Map<String, PageObject> pageObjects) {
-        for (PageObject pageObject : pageObjects.values()) {
-            // Direct match
-            if (pageObject.getElements().containsKey(elementRef)) {
-                return pageObject.getElements().get(elementRef);
-            }
-            
-            // Partial matches
-            for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
-                String elementKey = element.getKey().toLowerCase();
-                String elementRefLower = elementRef.toLowerCase();
-                
-                if (elementKey.contains(elementRefLower) || elementRefLower.contains(elementKey)) {
-                    return element.getValue();
-                }
-            }
+    private String findElementDirectly(String elementRef, PageObjectIndex index) {
+        return findElementInFirstMatchingPage(index, new String[]{elementRef}, elementRef.toLowerCase());
+    }
+    
+    /**
+     * Scan page objects in order; within each, try the exact names first and then a partial
+     * (contains in either direction) match on the lowercased terms. The index locates the first
+     * page with any kind of match, so only that page is examined.
+     */
+    private String findElementInFirstMatchingPage(PageObjectIndex index, String[] exactNames, String... termsLower) {
+        int firstMatch = -1;
+        for (String name : exactNames) {
+            firstMatch = PageObjectIndex.earliest(firstMatch, index.firstNamed(name));
+        }
+        for (String term : termsLower) {
+            firstMatch = PageObjectIndex.earliest(firstMatch, index.firstKeyContaining(term));
+            firstMatch = PageObjectIndex.earliest(firstMatch, index.firstKeyContainedIn(term));
+        }
+        if (firstMatch < 0) {
+            return null;
         }
         
-        return null;
+        int page = index.getPageOf(firstMatch);
+        Map<String, String> elements = index.getPage(page).getElements();
+        for (String name : exactNames) {
+            if (elements.containsKey(name)) {
+                return elements.get(name);
+            }
+        }
+        return index.selectorOrNull(index.firstPartialMatchInPage(page, termsLower));
     }
     
     /**
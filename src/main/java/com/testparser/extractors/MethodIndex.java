@@ -0,0 +1,43 @@
+package com.testparser.extractors;
+
+import com.github.javaparser.ast.body.MethodDeclaration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every method declared in a compilation unit, grouped by name. Filled during the single
+ * traversal of the AST, so data-driven expansion looks up each switch case in constant time
+ * instead of walking the whole file again. Overloads and methods of other classes in the same
+ * file (such as a base class the test extends) are kept in declaration order.
+ */
+public class MethodIndex {
+    
+    private final List<MethodDeclaration> methods = new ArrayList<>();
+    private final Map<String, List<MethodDeclaration>> methodsByName = new HashMap<>();
+    
+    /**
+     * Add a method; methods must be added in declaration order
+     */
+    void add(MethodDeclaration method) {
+        methods.add(method);
+        methodsByName.computeIfAbsent(method.getNameAsString(), name -> new ArrayList<>(1)).add(method);
+    }
+    
+    /**
+     * All methods in the file, in declaration order
+     */
+    public List<MethodDeclaration> getMethods() {
+        return methods;
+    }
+    
+    /**
+     * Methods with the given name, in declaration order; empty if there are none
+     */
+    public List<MethodDeclaration> getMethods(String name) {
+        return methodsByName.getOrDefault(name, Collections.emptyList());
+    }
+}
@@ -1,6 +1,5 @@
 package com.testparser.extractors;
 
-import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
@@ -8,11 +7,19 @@ import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.expr.MemberValuePair;
 import com.github.javaparser.ast.expr.NormalAnnotationExpr;
 import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
+import com.testparser.cache.CacheEntry;
+import com.testparser.cache.ExtractionCache;
+import com.testparser.metrics.ExtractionEvents;
+import com.testparser.metrics.ExtractionMetrics;
 import com.testparser.models.PageObject;
+import com.testparser.utils.ExtractionPool;
+import com.testparser.utils.ProjectFileWalker;
+import com.testparser.utils.ProjectFiles;
 
-import java.io.File;
-import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -22,140 +29,242 @@ public class PageObjectExtractor {
      * Main entry point to extract page objects from a project directory
      */
     public static Map<String, PageObject> extractPageObjects(String projectPath) {
-        Map<String, PageObject> pageObjects = new HashMap<>();
-        
         try {
-            File projectDir = new File(projectPath);
-            scanForPageObjects(projectDir, pageObjects);
-        } catch (Exception e) {
+            return extractPageObjects(ProjectFileWalker.walk(projectPath));
+        } catch (IOException e) {
             System.err.println("Error extracting page objects: " + e.getMessage());
             e.printStackTrace();
+            return new HashMap<>();
         }
+    }
+    
+    /**
+     * Extract page objects from the Java files found by the project walker
+     */
+    public static Map<String, PageObject> extractPageObjects(ProjectFiles projectFiles) {
+        return extractPageObjects(projectFiles, ExtractionPool.sequential());
+    }
+    
+    /**
+     * Extract page objects with candidate files parsed concurrently on the given pool
+     */
+    public static Map<String, PageObject> extractPageObjects(ProjectFiles projectFiles, ExtractionPool pool) {
+        return extractPageObjects(projectFiles, pool, new CompilationUnitCache(), ExtractionCache.disabled());
+    }
+    
+    /**
+     * Extract page objects, retaining parsed test files in the cache for the test phase.
+     * Files whose result is in the extraction cache are not parsed at all.
+     */
+    public static Map<String, PageObject> extractPageObjects(ProjectFiles projectFiles, ExtractionPool pool, 
+                                                             CompilationUnitCache cache, ExtractionCache extractionCache) {
+        return extractPageObjects(projectFiles, pool, cache, extractionCache, ExtractionMetrics.disabled());
+    }
+    
+    /**
+     * Extract page objects, recording the time and allocation spent on each file. Candidates
+     * are read on the pool's I/O threads and parsed and checked on its workers; only files the
+     * pre-filter found element markers in are parsed, and their ASTs are dropped once checked
+     * unless the test phase will need them and the cache has room.
+     */
+    public static Map<String, PageObject> extractPageObjects(ProjectFiles projectFiles, ExtractionPool pool, 
+                                                             CompilationUnitCache cache, ExtractionCache extractionCache, 
+                                                             ExtractionMetrics metrics) {
+        PageObjectRegistry registry = new PageObjectRegistry();
         
-        return pageObjects;
+        pool.forEachStaged(projectFiles.getPageObjectCandidates(), 
+                path -> readCandidate(path, cache, extractionCache), 
+                candidate -> checkCandidate(candidate, projectFiles, cache, extractionCache, metrics), 
+                candidate -> {
+                    if (candidate.className != null) {
+                        registry.register(candidate.className, candidate.elements);
+                    }
+                });
+        
+        return registry.toPageObjects();
+    }
+    
+    /**
+     * A candidate file on its way through the read and check stages
+     */
+    private static class Candidate {
+        final Path path;
+        CacheEntry entry;
+        boolean fromCache;
+        SourceFile sourceFile;
+        Exception error;
+        String className;
+        Map<String, String> elements;
+        
+        Candidate(Path path) {
+            this.path = path;
+        }
+    }
+    
+    /**
+     * I/O stage: look the file up in the extraction cache and read it if there is no cached result
+     */
+    private static Candidate readCandidate(Path path, CompilationUnitCache cache, ExtractionCache extractionCache) {
+        Candidate candidate = new Candidate(path);
+        try {
+            candidate.entry = extractionCache.entryFor(path);
+            if (extractionCache.hasPageObjectResult(candidate.entry)) {
+                candidate.fromCache = true;
+                candidate.className = candidate.entry.getPageObjectClassName();
+                candidate.elements = candidate.entry.getPageObjectElements();
+            } else {
+                candidate.sourceFile = cache.read(path);
+            }
+        } catch (Exception e) {
+            candidate.error = e;
+        }
+        return candidate;
     }
     
     /**
-     * Recursively scan directories for Java files that contain page object patterns
+     * CPU stage: parse the file if it may declare elements and extract its page object
      */
-    private static void scanForPageObjects(File dir, Map<String, PageObject> pageObjects) {
-        if (!dir.exists() || !dir.isDirectory()) {
+    private static Candidate checkCandidate(Candidate candidate, ProjectFiles projectFiles, 
+                                            CompilationUnitCache cache, ExtractionCache extractionCache, 
+                                            ExtractionMetrics metrics) {
+        ExtractionEvents.PageObjectRegistered event = new ExtractionEvents.PageObjectRegistered();
+        event.begin();
+        long startTime = metrics.startTime();
+        long startAllocated = metrics.threadAllocatedBytes();
+        try {
+            if (candidate.error != null) {
+                throw candidate.error;
+            }
+            if (!candidate.fromCache) {
+                extractPageObject(candidate, projectFiles, cache);
+                
+                CacheEntry entry = candidate.entry;
+                if (entry != null) {
+                    entry.setPageObjectChecked(true);
+                    entry.setPageObjectClassName(candidate.className);
+                    entry.setPageObjectElements(candidate.elements);
+                    extractionCache.save(entry);
+                }
+            }
+            commit(event, candidate.path, candidate.className, candidate.elements, candidate.fromCache);
+        } catch (Exception e) {
+            System.err.println("Error parsing file " + candidate.path.getFileName() + ": " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            // Nothing but the result is needed past this stage
+            candidate.sourceFile = null;
+            candidate.entry = null;
+            metrics.recordWork(ExtractionMetrics.Phase.PAGE_OBJECTS, startTime, startAllocated);
+        }
+        return candidate;
+    }
+    
+    private static void extractPageObject(Candidate candidate, ProjectFiles projectFiles, CompilationUnitCache cache) {
+        SourceFile sourceFile = candidate.sourceFile;
+        SourceMarkers markers = sourceFile.getMarkers();
+        
+        // A file without element markers cannot declare a web element field
+        if (!markers.mayDeclareElements()) {
             return;
         }
         
-        File[] files = dir.listFiles();
-        if (files == null) return;
+        sourceFile = cache.parse(sourceFile);
+        PageObject pageObject = isPageObjectFile(sourceFile, projectFiles) ? parsePageObjectFile(sourceFile) : null;
+        if (pageObject != null) {
+            candidate.className = pageObject.getClassName();
+            candidate.elements = pageObject.getElements();
+        }
         
-        for (File file : files) {
-            if (file.isDirectory()) {
-                // Recursively scan subdirectories
-                scanForPageObjects(file, pageObjects);
-            } else if (file.getName().endsWith(".java")) {
-                if (isPageObjectFile(file)) {
-                    try {
-                        parsePageObjectFile(file, pageObjects);
-                    } catch (Exception e) {
-                        System.err.println("Error parsing file " + file.getName() + ": " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                }
-            }
+        // Test files would be parsed again by the test phase, so keep a bounded number of them
+        if (markers.hasTestAnnotation() && projectFiles.isTestFile(sourceFile.getPath())) {
+            cache.retain(sourceFile);
+        }
+    }
+    
+    private static void commit(ExtractionEvents.PageObjectRegistered event, Path path, String className, 
+                               Map<String, String> elements, boolean fromCache) {
+        if (event.shouldCommit()) {
+            event.path = path.toString();
+            event.className = className;
+            event.elementCount = elements != null ? elements.size() : 0;
+            event.fromCache = fromCache;
+            event.commit();
         }
     }
     
     /**
      * Determine if a Java file is likely a page object based on location and content
      */
-    private static boolean isPageObjectFile(File file) {
-        String parentDirName = file.getParentFile().getName().toLowerCase();
-        
-        // Check if file is in page/pages folder
-        if (parentDirName.equals("page") || parentDirName.equals("pages")) {
+    private static boolean isPageObjectFile(SourceFile sourceFile, ProjectFiles projectFiles) {
+        // Files in page/pages folders were classified by the walker
+        if (projectFiles.isInPageDirectory(sourceFile.getPath())) {
             return true;
         }
         
-        // Check if any parent directory is page/pages
-        File current = file.getParentFile();
-        while (current != null) {
-            String dirName = current.getName().toLowerCase();
-            if (dirName.equals("page") || dirName.equals("pages")) {
-                return true;
-            }
-            current = current.getParentFile();
-        }
-        
         // Check if file contains page object patterns
-        return containsPageObjectPatterns(file);
+        return containsPageObjectPatterns(sourceFile);
     }
     
     /**
      * Check if file contains common page object patterns like @FindBy annotations
      */
-    private static boolean containsPageObjectPatterns(File file) {
-        try {
-            JavaParser parser = new JavaParser();
-            CompilationUnit cu = parser.parse(new FileInputStream(file)).getResult().orElse(null);
-            
-            if (cu == null) {
-                return false;
-            }
-            
-            // Check for @FindBy annotations
-            boolean hasFindByAnnotations = cu.findAll(FieldDeclaration.class).stream()
-                    .anyMatch(field -> field.getAnnotations().stream()
-                            .anyMatch(ann -> ann.getNameAsString().equals("FindBy") || 
-                                           ann.getNameAsString().equals("FindElement")));
-            
-            // Check for WebElement fields
-            boolean hasWebElementFields = cu.findAll(FieldDeclaration.class).stream()
-                    .anyMatch(field -> field.getElementType().asString().contains("WebElement"));
-            
-            // Check for PageFactory usage
-            boolean hasPageFactory = cu.toString().contains("PageFactory");
-            
-            return hasFindByAnnotations || hasWebElementFields || hasPageFactory;
-            
-        } catch (Exception e) {
+    private static boolean containsPageObjectPatterns(SourceFile sourceFile) {
+        CompilationUnit cu = sourceFile.getCompilationUnit();
+        if (cu == null) {
             return false;
         }
+        
+        // Check for @FindBy annotations
+        boolean hasFindByAnnotations = cu.findAll(FieldDeclaration.class).stream()
+                .anyMatch(field -> field.getAnnotations().stream()
+                        .anyMatch(ann -> ann.getNameAsString().equals("FindBy") || 
+                                       ann.getNameAsString().equals("FindElement")));
+        
+        // Check for WebElement fields
+        boolean hasWebElementFields = cu.findAll(FieldDeclaration.class).stream()
+                .anyMatch(field -> field.getElementType().asString().contains("WebElement"));
+        
+        // Check for PageFactory usage outside comments and strings
+        boolean hasPageFactory = sourceFile.getMarkers().hasPageFactory();
+        
+        return hasFindByAnnotations || hasWebElementFields || hasPageFactory;
     }
     
     /**
-     * Parse a page object file and extract element selectors
+     * Parse a page object file and extract element selectors in declaration order.
+     * Returns null if the file declares no web element fields.
      */
-    private static void parsePageObjectFile(File file, Map<String, PageObject> pageObjects) throws Exception {
-        // Parse the file
-        CompilationUnit cu;
-        try (FileInputStream in = new FileInputStream(file)) {
-            JavaParser parser = new JavaParser();
-            cu = parser.parse(in).getResult().orElse(null);
-
-            if (cu == null) {
-                return;
-            }
+    private static PageObject parsePageObjectFile(SourceFile sourceFile) {
+        CompilationUnit cu = sourceFile.getCompilationUnit();
+        if (cu == null) {
+            return null;
         }
 
         String className = getClassName(cu);
         if (className == null) {
-            return;
+            return null;
         }
 
         // Extract web element fields and their selectors
+        Map<String, String> elements = null;
         for (FieldDeclaration field : cu.findAll(FieldDeclaration.class)) {
             if (isWebElementField(field)) {
-                PageObject pageObject = pageObjects.computeIfAbsent(className, k -> 
-                    new PageObject(k, new HashMap<>()));
+                if (elements == null) {
+                    elements = new LinkedHashMap<>();
+                }
 
                 for (VariableDeclarator var : field.getVariables()) {
                     String elementName = var.getNameAsString();
                     String selector = extractSelector(field);
 
                     if (selector != null) {
-                        pageObject.getElements().put(elementName, selector);
+                        elements.put(elementName, selector);
                     }
                 }
             }
         }
+
+        return elements != null ? new PageObject(className, elements) : null;
     }
 
     /**
@@ -212,7 +321,7 @@ public class PageObjectExtractor {
         if (annotation instanceof SingleMemberAnnotationExpr) {
             // @FindBy("value") format
             SingleMemberAnnotationExpr singleMember = (SingleMemberAnnotationExpr) annotation;
-            String value = singleMember.getMemberValue().toString();
+            String value = SourceText.of(singleMember.getMemberValue());
             return cleanSelectorValue(value);
         } else if (annotation instanceof NormalAnnotationExpr) {
             // @FindBy(xpath="value", id="value", etc.) format
@@ -225,7 +334,7 @@ public class PageObjectExtractor {
                 Optional<String> value = normalAnnotation.getPairs().stream()
                         .filter(pair -> pair.getNameAsString().equals(locatorType))
                         .map(MemberValuePair::getValue)
-                        .map(Object::toString)
+                        .map(SourceText::of)
                         .findFirst();
                 
                 if (value.isPresent()) {
@@ -235,8 +344,8 @@ public class PageObjectExtractor {
             }
         }
         
-        // Fallback - return the entire annotation string
-        return annotation.toString();
+        // Fallback - return the entire annotation as written
+        return SourceText.of(annotation);
     }
     
     /**
@@ -0,0 +1,315 @@
+package com.testparser.extractors;
+
+import com.testparser.models.PageObject;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup structure over all page objects, built once after page object extraction.
+ * Elements are numbered in the iteration order of the page object map (page by page, element
+ * by element), and every query returns the lowest matching number, so callers get exactly the
+ * element a first-match scan over the map would have found.
+ */
+public class PageObjectIndex {
+    
+    private static final int[] NO_POSTINGS = new int[0];
+    
+    private final Map<String, PageObject> pageObjects;
+    
+    // Per page, in map iteration order
+    private final PageObject[] pages;
+    private final String[] pageNamesLower;
+    private final String[] pageNamesStripped;
+    private final int[] pageStart;
+    
+    // Per element, numbered across all pages
+    private final int[] elementPage;
+    private final String[] elementKeys;
+    private final String[] elementKeysLower;
+    private final String[] elementSelectors;
+    
+    // Inverted indexes from a lookup key to ascending element (or page) numbers
+    private final Map<String, int[]> byName;
+    private final Map<String, int[]> byLowerName;
+    private final Map<String, int[]> byTrigram;
+    private final Map<String, int[]> byNamePart;
+    private final Map<String, int[]> pagesByName;
+    private final int[] pagesMatchingAnyScope;
+    private final int maxKeyLength;
+    private final int maxPageNameLength;
+    
+    public PageObjectIndex(Map<String, PageObject> pageObjects) {
+        this.pageObjects = Collections.unmodifiableMap(pageObjects);
+        
+        int pageCount = pageObjects.size();
+        int elementCount = 0;
+        for (PageObject pageObject : pageObjects.values()) {
+            elementCount += pageObject.getElements().size();
+        }
+        
+        pages = new PageObject[pageCount];
+        pageNamesLower = new String[pageCount];
+        pageNamesStripped = new String[pageCount];
+        pageStart = new int[pageCount + 1];
+        elementPage = new int[elementCount];
+        elementKeys = new String[elementCount];
+        elementKeysLower = new String[elementCount];
+        elementSelectors = new String[elementCount];
+        
+        Map<String, List<Integer>> names = new HashMap<>();
+        Map<String, List<Integer>> lowerNames = new HashMap<>();
+        Map<String, List<Integer>> trigrams = new HashMap<>();
+        Map<String, List<Integer>> nameParts = new HashMap<>();
+        Map<String, List<Integer>> pageNames = new HashMap<>();
+        List<Integer> anyScope = new ArrayList<>();
+        int longestKey = 0;
+        int longestPageName = 0;
+        
+        int page = 0;
+        int element = 0;
+        for (PageObject pageObject : pageObjects.values()) {
+            pages[page] = pageObject;
+            pageNamesLower[page] = pageObject.getClassName().toLowerCase();
+            pageNamesStripped[page] = pageNamesLower[page].replace("page", "");
+            pageStart[page] = element;
+            
+            addPosting(pageNames, pageNamesLower[page], page);
+            if (pageNamesStripped[page].isEmpty()) {
+                // A class named just "Page" matches every scope
+                anyScope.add(page);
+            } else {
+                addPosting(pageNames, pageNamesStripped[page], page);
+            }
+            longestPageName = Math.max(longestPageName, pageNamesLower[page].length());
+            
+            for (Map.Entry<String, String> entry : pageObject.getElements().entrySet()) {
+                String keyLower = entry.getKey().toLowerCase();
+                elementPage[element] = page;
+                elementKeys[element] = entry.getKey();
+                elementKeysLower[element] = keyLower;
+                elementSelectors[element] = entry.getValue();
+                
+                addPosting(names, entry.getKey(), element);
+                addPosting(lowerNames, keyLower, element);
+                for (int i = 0; i + 3 <= keyLower.length(); i++) {
+                    addPosting(trigrams, keyLower.substring(i, i + 3), element);
+                }
+                for (String part : keyLower.split("_")) {
+                    if (part.length() > 2) {
+                        addPosting(nameParts, part, element);
+                    }
+                }
+                longestKey = Math.max(longestKey, keyLower.length());
+                element++;
+            }
+            page++;
+        }
+        pageStart[pageCount] = element;
+        
+        byName = toPostings(names);
+        byLowerName = toPostings(lowerNames);
+        byTrigram = toPostings(trigrams);
+        byNamePart = toPostings(nameParts);
+        pagesByName = toPostings(pageNames);
+        pagesMatchingAnyScope = toArray(anyScope);
+        maxKeyLength = longestKey;
+        maxPageNameLength = longestPageName;
+    }
+    
+    public Map<String, PageObject> getPageObjects() { return pageObjects; }
+    
+    public int getPageCount() { return pages.length; }
+    public int getElementCount() { return elementKeys.length; }
+    
+    public PageObject getPage(int page) { return pages[page]; }
+    public int getPageOf(int element) { return elementPage[element]; }
+    public String getSelector(int element) { return elementSelectors[element]; }
+    
+    /**
+     * Selector for an element number, or null for -1
+     */
+    public String selectorOrNull(int element) {
+        return element >= 0 ? elementSelectors[element] : null;
+    }
+    
+    /**
+     * First element with exactly this name, or -1
+     */
+    public int firstNamed(String name) {
+        int[] postings = byName.get(name);
+        return postings != null ? postings[0] : -1;
+    }
+    
+    /**
+     * First element whose lowercased name contains the lowercased needle, or -1
+     */
+    public int firstKeyContaining(String needleLower) {
+        if (needleLower.length() < 3) {
+            // Too short for the trigram index
+            for (int element = 0; element < elementKeysLower.length; element++) {
+                if (elementKeysLower[element].contains(needleLower)) {
+                    return element;
+                }
+            }
+            return -1;
+        }
+        
+        // Every match contains every trigram of the needle; verify candidates from the rarest one
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= needleLower.length(); i++) {
+            int[] postings = byTrigram.getOrDefault(needleLower.substring(i, i + 3), NO_POSTINGS);
+            if (candidates == null || postings.length < candidates.length) {
+                candidates = postings;
+            }
+            if (candidates.length == 0) {
+                return -1;
+            }
+        }
+        for (int element : candidates) {
+            if (elementKeysLower[element].contains(needleLower)) {
+                return element;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * First element whose lowercased name occurs in the lowercased haystack, or -1
+     */
+    public int firstKeyContainedIn(String haystackLower) {
+        return firstContainedIn(haystackLower, byLowerName, 0);
+    }
+    
+    /**
+     * First element with an underscore-separated name part longer than two characters
+     * that occurs in the lowercased haystack, or -1
+     */
+    public int firstNamePartContainedIn(String haystackLower) {
+        return firstContainedIn(haystackLower, byNamePart, 3);
+    }
+    
+    /**
+     * Pages, in order, whose lowercased class name (with or without "page") occurs in the scope
+     */
+    public int[] pagesMatchingScope(String scopeLower) {
+        BitSet matches = new BitSet(pages.length);
+        for (int page : pagesMatchingAnyScope) {
+            matches.set(page);
+        }
+        
+        int length = scopeLower.length();
+        int maxLength = Math.min(length, maxPageNameLength);
+        if ((long) length * maxLength > 2L * pages.length) {
+            // Cheaper to test every page than to enumerate substrings of a long scope
+            for (int page = 0; page < pages.length; page++) {
+                if (scopeLower.contains(pageNamesLower[page]) || scopeLower.contains(pageNamesStripped[page])) {
+                    matches.set(page);
+                }
+            }
+        } else {
+            for (int start = 0; start < length; start++) {
+                for (int end = start + 1; end <= Math.min(length, start + maxLength); end++) {
+                    int[] postings = pagesByName.get(scopeLower.substring(start, end));
+                    if (postings != null) {
+                        for (int page : postings) {
+                            matches.set(page);
+                        }
+                    }
+                }
+            }
+        }
+        
+        return matches.stream().toArray();
+    }
+    
+    /**
+     * First element of a page, in order, whose lowercased name contains or is contained in
+     * any of the lowercased terms, or -1
+     */
+    public int firstPartialMatchInPage(int page, String... termsLower) {
+        for (int element = pageStart[page]; element < pageStart[page + 1]; element++) {
+            String keyLower = elementKeysLower[element];
+            for (String term : termsLower) {
+                if (keyLower.contains(term) || term.contains(keyLower)) {
+                    return element;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * The smaller of two element numbers, treating -1 as no match
+     */
+    public static int earliest(int first, int second) {
+        if (first < 0) return second;
+        if (second < 0) return first;
+        return Math.min(first, second);
+    }
+    
+    private int firstContainedIn(String haystackLower, Map<String, int[]> index, int minLength) {
+        int length = haystackLower.length();
+        int maxLength = Math.min(length, maxKeyLength);
+        
+        if ((long) length * maxLength > elementKeysLower.length) {
+            // Cheaper to test every element than to enumerate substrings of a long haystack
+            for (int element = 0; element < elementKeysLower.length; element++) {
+                if (index == byNamePart ? hasNamePartIn(element, haystackLower) 
+                                        : haystackLower.contains(elementKeysLower[element])) {
+                    return element;
+                }
+            }
+            return -1;
+        }
+        
+        int best = minLength == 0 ? firstInPostings(index.get("")) : -1;
+        for (int start = 0; start < length; start++) {
+            for (int end = start + Math.max(1, minLength); end <= Math.min(length, start + maxLength); end++) {
+                best = earliest(best, firstInPostings(index.get(haystackLower.substring(start, end))));
+            }
+        }
+        return best;
+    }
+    
+    private boolean hasNamePartIn(int element, String haystackLower) {
+        for (String part : elementKeysLower[element].split("_")) {
+            if (part.length() > 2 && haystackLower.contains(part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static int firstInPostings(int[] postings) {
+        return postings != null ? postings[0] : -1;
+    }
+    
+    private static void addPosting(Map<String, List<Integer>> postings, String key, int value) {
+        List<Integer> list = postings.computeIfAbsent(key, k -> new ArrayList<>());
+        // Values arrive in ascending order; skip repeats such as a trigram occurring twice in one name
+        if (list.isEmpty() || list.get(list.size() - 1) != value) {
+            list.add(value);
+        }
+    }
+    
+    private static Map<String, int[]> toPostings(Map<String, List<Integer>> lists) {
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+            postings.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        return postings;
+    }
+    
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,40 @@
+package com.testparser.extractors;
+
+import com.testparser.models.PageObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collection point for the page objects of one run. Files are parsed concurrently, but the
+ * pool hands their results to the calling thread in discovery order, so files register one
+ * at a time and in order. When several files declare the same simple class name their
+ * elements are merged in that order, so a later file wins on duplicate element names
+ * exactly as in a sequential scan.
+ */
+public class PageObjectRegistry {
+    
+    private final Map<String, PageObject> pageObjects = new HashMap<>();
+    
+    /**
+     * Register the elements the next file in discovery order declares for a page object class
+     */
+    public void register(String className, Map<String, String> elements) {
+        // put, unlike computeIfAbsent, appends to a hash bucket, keeping the established report order
+        PageObject pageObject = pageObjects.get(className);
+        if (pageObject == null) {
+            pageObject = new PageObject(className, new HashMap<>());
+            pageObjects.put(className, pageObject);
+        }
+        for (Map.Entry<String, String> element : elements.entrySet()) {
+            pageObject.getElements().put(element.getKey(), element.getValue());
+        }
+    }
+    
+    /**
+     * Page objects keyed by class name, with the elements of every file that declared them
+     */
+    public Map<String, PageObject> toPageObjects() {
+        return pageObjects;
+    }
+}
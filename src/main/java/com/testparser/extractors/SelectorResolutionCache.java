@@ -0,0 +1,61 @@
+package com.testparser.extractors;
+
+import com.testparser.metrics.ExtractionMetrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Selector lookups already resolved against one page object index, keyed by call shape.
+ * Safe to share between extraction threads; two threads missing on the same shape both
+ * resolve it and store the same result.
+ */
+public class SelectorResolutionCache {
+    
+    private static final int MAX_CACHED_SHAPES = 65536;
+    
+    /**
+     * A resolved lookup: the selector (possibly null) and the strategy that produced it
+     */
+    public static final class Resolution {
+        private final String selector;
+        private final ExtractionMetrics.Strategy strategy;
+        
+        Resolution(String selector, ExtractionMetrics.Strategy strategy) {
+            this.selector = selector;
+            this.strategy = strategy;
+        }
+        
+        public String getSelector() { return selector; }
+        public ExtractionMetrics.Strategy getStrategy() { return strategy; }
+    }
+    
+    private final PageObjectIndex index;
+    private final ConcurrentMap<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    
+    public SelectorResolutionCache(PageObjectIndex index) {
+        this.index = index;
+    }
+    
+    /**
+     * The index the cached selectors were resolved against
+     */
+    public PageObjectIndex getIndex() {
+        return index;
+    }
+    
+    public Resolution get(String shape) {
+        return resolutions.get(shape);
+    }
+    
+    public void put(String shape, Resolution resolution) {
+        // Bounded: shapes beyond the limit are resolved again on every call
+        if (resolutions.size() < MAX_CACHED_SHAPES) {
+            resolutions.put(shape, resolution);
+        }
+    }
+    
+    public int size() {
+        return resolutions.size();
+    }
+}
@@ -1,7 +1,5 @@
 package com.testparser.extractors;
 
-import com.testparser.models.PageObject;
-
 import java.util.Map;
 
 /**
@@ -9,25 +7,75 @@ import java.util.Map;
  */
 public class SemanticMatcher {
     
+    // Enhanced semantic mappings for common UI patterns including assertions
+    private static final Map<String, String[]> SEMANTIC_MAPPINGS = Map.of(
+        "search", new String[]{"search", "find", "query", "box", "input"},
+        "login", new String[]{"login", "signin", "username", "email", "user"},
+        "password", new String[]{"password", "pass", "pwd"},
+        "submit", new String[]{"submit", "send", "save", "confirm", "button"},
+        "product", new String[]{"product", "item", "goods"},
+        "cart", new String[]{"cart", "basket", "bag"},
+        "checkout", new String[]{"checkout", "pay", "purchase", "order"},
+        "text", new String[]{"text", "label", "span", "div", "message", "content"},
+        "button", new String[]{"button", "btn", "link", "click"},
+        "field", new String[]{"field", "input", "textbox", "box"}
+    );
+    
+    // Common assertion patterns
+    private static final Map<String, String[]> ASSERTION_PATTERNS = Map.of(
+        "visible", new String[]{"visible", "displayed", "shown", "present"},
+        "enabled", new String[]{"enabled", "active", "clickable"},
+        "text", new String[]{"text", "content", "value", "label"},
+        "equals", new String[]{"equal", "same", "match"},
+        "contains", new String[]{"contain", "include", "has"},
+        "empty", new String[]{"empty", "blank", "null"},
+        "error", new String[]{"error", "warning", "alert", "message"},
+        "success", new String[]{"success", "confirmation", "complete"}
+    );
+    
     /**
-     * Find element using semantic matching patterns
+     * Find element using semantic matching patterns. Returns the first element, in page object
+     * order, that any of the matching rules accepts.
      */
-    public String findElementBySemanticMatching(String methodName, Map<String, PageObject> pageObjects) {
-        String coreElementName = extractCoreElementName(methodName);
+    public String findElementBySemanticMatching(String methodName, PageObjectIndex index) {
+        String lowerCoreElement = extractCoreElementName(methodName).toLowerCase();
+        String lowerFullMethod = methodName.toLowerCase();
+        
+        // Contains match (both directions), which also covers an exact match
+        int match = PageObjectIndex.earliest(index.firstKeyContaining(lowerCoreElement), 
+                                             index.firstKeyContainedIn(lowerCoreElement));
         
-        // Search through all page objects for semantic matches
-        for (PageObject pageObject : pageObjects.values()) {
-            for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
-                String elementKey = element.getKey();
-                String elementSelector = element.getValue();
-                
-                if (isSemanticMatch(coreElementName, elementKey, methodName)) {
-                    return elementSelector;
+        // Full method name contains element key, or the other way round
+        match = PageObjectIndex.earliest(match, index.firstKeyContaining(lowerFullMethod));
+        match = PageObjectIndex.earliest(match, index.firstKeyContainedIn(lowerFullMethod));
+        
+        // Semantic mappings
+        for (Map.Entry<String, String[]> mapping : SEMANTIC_MAPPINGS.entrySet()) {
+            String key = mapping.getKey();
+            String[] synonyms = mapping.getValue();
+            
+            // Core element name matches the key: element key matches any synonym
+            if (lowerCoreElement.contains(key)) {
+                for (String synonym : synonyms) {
+                    match = PageObjectIndex.earliest(match, index.firstKeyContaining(synonym));
+                }
+            }
+            
+            // Core element name matches any synonym: element key matches the key
+            for (String synonym : synonyms) {
+                if (lowerCoreElement.contains(synonym)) {
+                    match = PageObjectIndex.earliest(match, index.firstKeyContaining(key));
+                    break;
                 }
             }
         }
         
-        return null;
+        // Additional matching for assertion-specific patterns
+        if (isAssertionMethod(methodName)) {
+            match = PageObjectIndex.earliest(match, matchAssertionPatterns(lowerCoreElement, lowerFullMethod, index));
+        }
+        
+        return index.selectorOrNull(match);
     }
     
     /**
@@ -55,77 +103,6 @@ public class SemanticMatcher {
         return methodName;
     }
     
-    /**
-     * Check if two element names are semantically related
-     */
-    private boolean isSemanticMatch(String coreElementName, String elementKey, String fullMethodName) {
-        String lowerCoreElement = coreElementName.toLowerCase();
-        String lowerElementKey = elementKey.toLowerCase();
-        String lowerFullMethod = fullMethodName.toLowerCase();
-        
-        // Exact match
-        if (lowerCoreElement.equals(lowerElementKey)) {
-            return true;
-        }
-        
-        // Contains match (both directions)
-        if (lowerCoreElement.contains(lowerElementKey) || lowerElementKey.contains(lowerCoreElement)) {
-            return true;
-        }
-        
-        // Check if full method name contains element key
-        if (lowerFullMethod.contains(lowerElementKey) || lowerElementKey.contains(lowerFullMethod)) {
-            return true;
-        }
-        
-        // Enhanced semantic mappings for common UI patterns including assertions
-        Map<String, String[]> semanticMappings = Map.of(
-            "search", new String[]{"search", "find", "query", "box", "input"},
-            "login", new String[]{"login", "signin", "username", "email", "user"},
-            "password", new String[]{"password", "pass", "pwd"},
-            "submit", new String[]{"submit", "send", "save", "confirm", "button"},
-            "product", new String[]{"product", "item", "goods"},
-            "cart", new String[]{"cart", "basket", "bag"},
-            "checkout", new String[]{"checkout", "pay", "purchase", "order"},
-            "text", new String[]{"text", "label", "span", "div", "message", "content"},
-            "button", new String[]{"button", "btn", "link", "click"},
-            "field", new String[]{"field", "input", "textbox", "box"}
-        );
-        
-        // Check semantic mappings
-        for (Map.Entry<String, String[]> mapping : semanticMappings.entrySet()) {
-            String key = mapping.getKey();
-            String[] synonyms = mapping.getValue();
-            
-            // Check if core element name matches the key
-            if (lowerCoreElement.contains(key)) {
-                // Check if element key matches any synonym
-                for (String synonym : synonyms) {
-                    if (lowerElementKey.contains(synonym)) {
-                        return true;
-                    }
-                }
-            }
-            
-            // Check if element key matches the key
-            if (lowerElementKey.contains(key)) {
-                // Check if core element name matches any synonym
-                for (String synonym : synonyms) {
-                    if (lowerCoreElement.contains(synonym)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        
-        // Additional matching for assertion-specific patterns
-        if (isAssertionMethod(fullMethodName)) {
-            return matchAssertionPatterns(coreElementName, elementKey, fullMethodName);
-        }
-        
-        return false;
-    }
-    
     /**
      * Check if method is an assertion method
      */
@@ -145,36 +122,21 @@ public class SemanticMatcher {
     }
     
     /**
-     * Match assertion-specific patterns
+     * Match assertion-specific patterns, returning the first matching element or -1
      */
-    private boolean matchAssertionPatterns(String coreElementName, String elementKey, String fullMethodName) {
-        String lowerCoreElement = coreElementName.toLowerCase();
-        String lowerElementKey = elementKey.toLowerCase();
-        String lowerFullMethod = fullMethodName.toLowerCase();
-        
-        // Common assertion patterns
-        Map<String, String[]> assertionPatterns = Map.of(
-            "visible", new String[]{"visible", "displayed", "shown", "present"},
-            "enabled", new String[]{"enabled", "active", "clickable"},
-            "text", new String[]{"text", "content", "value", "label"},
-            "equals", new String[]{"equal", "same", "match"},
-            "contains", new String[]{"contain", "include", "has"},
-            "empty", new String[]{"empty", "blank", "null"},
-            "error", new String[]{"error", "warning", "alert", "message"},
-            "success", new String[]{"success", "confirmation", "complete"}
-        );
+    private int matchAssertionPatterns(String lowerCoreElement, String lowerFullMethod, PageObjectIndex index) {
+        int match = -1;
         
         // Check assertion patterns
-        for (Map.Entry<String, String[]> pattern : assertionPatterns.entrySet()) {
-            String key = pattern.getKey();
-            String[] synonyms = pattern.getValue();
-            
+        for (Map.Entry<String, String[]> pattern : ASSERTION_PATTERNS.entrySet()) {
             // If the method contains assertion keywords
-            if (lowerFullMethod.contains(key)) {
-                for (String synonym : synonyms) {
-                    if (lowerElementKey.contains(synonym) || lowerCoreElement.contains(synonym)) {
-                        return true;
+            if (lowerFullMethod.contains(pattern.getKey())) {
+                for (String synonym : pattern.getValue()) {
+                    if (lowerCoreElement.contains(synonym)) {
+                        // Every element matches
+                        return index.getElementCount() > 0 ? 0 : -1;
                     }
+                    match = PageObjectIndex.earliest(match, index.firstKeyContaining(synonym));
                 }
             }
         }
@@ -184,15 +146,10 @@ public class SemanticMatcher {
             // Look for element references in the core element name
             if (lowerCoreElement.length() > 2) {
                 // Try to match partial element names
-                String[] elementParts = lowerElementKey.split("_");
-                for (String part : elementParts) {
-                    if (part.length() > 2 && lowerCoreElement.contains(part)) {
-                        return true;
-                    }
-                }
+                match = PageObjectIndex.earliest(match, index.firstNamePartContainedIn(lowerCoreElement));
             }
         }
         
-        return false;
+        return match;
     }
-}
\ No newline at end of file
+}
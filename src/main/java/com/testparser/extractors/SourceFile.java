@@ -0,0 +1,46 @@
+package com.testparser.extractors;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import java.nio.file.Path;
+
+/**
+ * A Java source file as read by the compilation unit cache, and once parsed, its AST
+ */
+public class SourceFile {
+    private final Path path;
+    private final int size;
+    private final String source;
+    private final SourceMarkers markers;
+    private final CompilationUnit compilationUnit;
+    
+    public SourceFile(Path path, int size, String source, SourceMarkers markers, CompilationUnit compilationUnit) {
+        this.path = path;
+        this.size = size;
+        this.source = source;
+        this.markers = markers;
+        this.compilationUnit = compilationUnit;
+    }
+    
+    public Path getPath() { return path; }
+    
+    /**
+     * Size of the file in bytes
+     */
+    public int getSize() { return size; }
+    
+    /**
+     * The decoded source text, or null if the file was skipped by the pre-filter
+     */
+    public String getSource() { return source; }
+    
+    /**
+     * Markers found by the byte-level pre-filter scan
+     */
+    public SourceMarkers getMarkers() { return markers; }
+    
+    /**
+     * The parsed AST, or null if the file is not parsed yet, could not be parsed or was skipped by the pre-filter
+     */
+    public CompilationUnit getCompilationUnit() { return compilationUnit; }
+}
@@ -0,0 +1,223 @@
+package com.testparser.extractors;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tokens found by a byte-level scan of a source file, used to decide whether the file is worth
+ * handing to JavaParser. Comments, string and character literals and text blocks are skipped,
+ * so a commented-out @Test or a "WebElement" string does not make a file a candidate.
+ * The scan only ever errs towards parsing: a file without any marker cannot yield a test case
+ * or a page object element.
+ */
+public class SourceMarkers {
+    
+    private static final int TEST_ANNOTATION = 1;
+    private static final int FIND_BY_ANNOTATION = 1 << 1;
+    private static final int WEB_ELEMENT = 1 << 2;
+    private static final int PAGE_FACTORY = 1 << 3;
+    private static final int ALL = TEST_ANNOTATION | FIND_BY_ANNOTATION | WEB_ELEMENT | PAGE_FACTORY;
+    
+    private static final byte[] TEST = ascii("Test");
+    private static final byte[] FIND_BY = ascii("FindBy");
+    private static final byte[] FIND_ELEMENT = ascii("FindElement");
+    private static final byte[] WEB_ELEMENT_NAME = ascii("WebElement");
+    private static final byte[] PAGE_FACTORY_NAME = ascii("PageFactory");
+    
+    private final int flags;
+    
+    private SourceMarkers(int flags) {
+        this.flags = flags;
+    }
+    
+    /**
+     * Scan the remaining bytes of an ASCII-compatible source buffer without moving its position
+     */
+    public static SourceMarkers scan(ByteBuffer buffer) {
+        ByteBuffer source = buffer.slice();
+        int flags = 0;
+        boolean afterAt = false;
+        int length = source.limit();
+        int i = 0;
+        
+        while (i < length && flags != ALL) {
+            byte b = source.get(i);
+            
+            if (b == '/' && i + 1 < length && source.get(i + 1) == '/') {
+                i = skipLineComment(source, i + 2);
+            } else if (b == '/' && i + 1 < length && source.get(i + 1) == '*') {
+                i = skipBlockComment(source, i + 2);
+            } else if (b == '"') {
+                afterAt = false;
+                i = isTextBlockStart(source, i) ? skipTextBlock(source, i + 3) : skipQuoted(source, i + 1, (byte) '"');
+            } else if (b == '\'') {
+                afterAt = false;
+                i = skipQuoted(source, i + 1, (byte) '\'');
+            } else if (b == '@') {
+                afterAt = true;
+                i++;
+            } else if (isIdentifierStart(b)) {
+                int start = i;
+                while (i < length && isIdentifierPart(source.get(i))) {
+                    i++;
+                }
+                flags |= identifierFlags(source, start, i - start, afterAt);
+                afterAt = false;
+            } else if (isIdentifierPart(b)) {
+                // Numeric literal, including hex digits and suffixes
+                while (i < length && isIdentifierPart(source.get(i))) {
+                    i++;
+                }
+                afterAt = false;
+            } else {
+                if (!isWhitespace(b)) {
+                    afterAt = false;
+                }
+                i++;
+            }
+        }
+        return new SourceMarkers(flags);
+    }
+    
+    /**
+     * A method may be annotated with @Test
+     */
+    public boolean hasTestAnnotation() { return (flags & TEST_ANNOTATION) != 0; }
+    
+    /**
+     * A field may be annotated with @FindBy or @FindElement
+     */
+    public boolean hasFindByAnnotation() { return (flags & FIND_BY_ANNOTATION) != 0; }
+    
+    /**
+     * An identifier containing WebElement appears in code
+     */
+    public boolean hasWebElement() { return (flags & WEB_ELEMENT) != 0; }
+    
+    /**
+     * PageFactory is referenced in code
+     */
+    public boolean hasPageFactory() { return (flags & PAGE_FACTORY) != 0; }
+    
+    /**
+     * True if the file may declare web element fields, the only thing a page object is built from
+     */
+    public boolean mayDeclareElements() {
+        return hasFindByAnnotation() || hasWebElement();
+    }
+    
+    /**
+     * True if parsing the file can produce a test case or a page object
+     */
+    public boolean isParseCandidate() {
+        return hasTestAnnotation() || mayDeclareElements();
+    }
+    
+    private static int identifierFlags(ByteBuffer source, int start, int length, boolean annotation) {
+        int flags = 0;
+        if (annotation) {
+            if (regionEquals(source, start, length, TEST)) {
+                flags |= TEST_ANNOTATION;
+            } else if (regionEquals(source, start, length, FIND_BY) || regionEquals(source, start, length, FIND_ELEMENT)) {
+                flags |= FIND_BY_ANNOTATION;
+            }
+        }
+        if (regionContains(source, start, length, WEB_ELEMENT_NAME)) {
+            flags |= WEB_ELEMENT;
+        } else if (regionEquals(source, start, length, PAGE_FACTORY_NAME)) {
+            flags |= PAGE_FACTORY;
+        }
+        return flags;
+    }
+    
+    private static int skipLineComment(ByteBuffer source, int i) {
+        while (i < source.limit() && source.get(i) != '\n' && source.get(i) != '\r') {
+            i++;
+        }
+        return i;
+    }
+    
+    private static int skipBlockComment(ByteBuffer source, int i) {
+        while (i + 1 < source.limit()) {
+            if (source.get(i) == '*' && source.get(i + 1) == '/') {
+                return i + 2;
+            }
+            i++;
+        }
+        return source.limit();
+    }
+    
+    private static boolean isTextBlockStart(ByteBuffer source, int i) {
+        return i + 2 < source.limit() && source.get(i + 1) == '"' && source.get(i + 2) == '"';
+    }
+    
+    private static int skipTextBlock(ByteBuffer source, int i) {
+        while (i < source.limit()) {
+            if (source.get(i) == '\\') {
+                i += 2;
+            } else if (source.get(i) == '"' && isTextBlockStart(source, i)) {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return source.limit();
+    }
+    
+    /**
+     * Skip a string or character literal; an unterminated literal ends at the line break
+     */
+    private static int skipQuoted(ByteBuffer source, int i, byte quote) {
+        while (i < source.limit()) {
+            byte b = source.get(i);
+            if (b == '\\') {
+                i += 2;
+            } else if (b == quote) {
+                return i + 1;
+            } else if (b == '\n' || b == '\r') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return source.limit();
+    }
+    
+    private static boolean regionEquals(ByteBuffer source, int start, int length, byte[] token) {
+        if (length != token.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (source.get(start + i) != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean regionContains(ByteBuffer source, int start, int length, byte[] token) {
+        for (int offset = 0; offset + token.length <= length; offset++) {
+            if (regionEquals(source, start + offset, token.length, token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isIdentifierStart(byte b) {
+        // Bytes of multi-byte UTF-8 sequences are negative and treated as identifier characters
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b == '_' || b == '$' || b < 0;
+    }
+    
+    private static boolean isIdentifierPart(byte b) {
+        return isIdentifierStart(b) || (b >= '0' && b <= '9');
+    }
+    
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+    }
+    
+    private static byte[] ascii(String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,103 @@
+package com.testparser.extractors;
+
+import com.github.javaparser.Position;
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.ast.Node;
+
+import java.util.Optional;
+
+/**
+ * The text of a parsed file, attached to its CompilationUnit so any node can be turned back
+ * into the text it was parsed from by slicing the source at the node's range, instead of
+ * pretty-printing the subtree. Nodes without a range or without attached source (for example
+ * ASTs built in code) fall back to toString().
+ */
+public class SourceText {
+    
+    private static final DataKey<SourceText> KEY = new DataKey<SourceText>() {};
+    
+    private final String source;
+    private volatile int[] lineStarts;
+    
+    private SourceText(String source) {
+        this.source = source;
+    }
+    
+    /**
+     * Keep the source the compilation unit was parsed from for later slicing
+     */
+    public static void attach(CompilationUnit cu, String source) {
+        cu.setData(KEY, new SourceText(source));
+    }
+    
+    /**
+     * The node's text as written in the source file
+     */
+    public static String of(Node node) {
+        Optional<Range> range = node.getRange();
+        if (range.isPresent()) {
+            Optional<CompilationUnit> cu = node.findCompilationUnit();
+            if (cu.isPresent() && cu.get().containsData(KEY)) {
+                String text = cu.get().getData(KEY).slice(range.get());
+                if (text != null) {
+                    return text;
+                }
+            }
+        }
+        return node.toString();
+    }
+    
+    /**
+     * The text between the inclusive begin and end positions, or null if they are outside the source
+     */
+    private String slice(Range range) {
+        int begin = offset(range.begin);
+        int end = offset(range.end);
+        if (begin < 0 || end < begin || end >= source.length()) {
+            return null;
+        }
+        return source.substring(begin, end + 1);
+    }
+    
+    /**
+     * Character offset of a 1-based line and column, counting tabs as one column as the parser does
+     */
+    private int offset(Position position) {
+        int[] starts = lineStarts();
+        if (position.line < 1 || position.line > starts.length || position.column < 1) {
+            return -1;
+        }
+        return starts[position.line - 1] + position.column - 1;
+    }
+    
+    private int[] lineStarts() {
+        int[] starts = lineStarts;
+        if (starts == null) {
+            int lines = 1;
+            for (int i = 0; i < source.length(); i++) {
+                if (endsLine(i)) {
+                    lines++;
+                }
+            }
+            starts = new int[lines];
+            int line = 1;
+            for (int i = 0; i < source.length(); i++) {
+                if (endsLine(i)) {
+                    starts[line++] = i + 1;
+                }
+            }
+            lineStarts = starts;
+        }
+        return starts;
+    }
+    
+    /**
+     * True if the character ends a line; terminators are \n, \r and \r\n as in the language specification
+     */
+    private boolean endsLine(int i) {
+        char c = source.charAt(i);
+        return c == '\n' || (c == '\r' && (i + 1 == source.length() || source.charAt(i + 1) != '\n'));
+    }
+}
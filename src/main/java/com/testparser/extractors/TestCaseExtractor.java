@@ -1,13 +1,16 @@
 package com.testparser.extractors;
 
+import com.github.javaparser.Position;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.comments.Comment;
 import com.github.javaparser.ast.stmt.Statement;
-import com.testparser.models.PageObject;
+import com.testparser.metrics.ExtractionMetrics;
 import com.testparser.models.TestCase;
 import com.testparser.models.TestStep;
 import com.testparser.utils.ConfigPropertiesReader;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -17,23 +20,30 @@ import java.util.Map;
 public class TestCaseExtractor {
     
     private final TestStepExtractor stepExtractor;
+    private final ExtractionMetrics metrics;
     
     public TestCaseExtractor() {
-        this.stepExtractor = new TestStepExtractor();
+        this(ExtractionMetrics.disabled());
+    }
+    
+    public TestCaseExtractor(ExtractionMetrics metrics) {
+        this.stepExtractor = new TestStepExtractor(metrics);
+        this.metrics = metrics;
     }
     
     /**
      * Extract test case details from a method
      */
     public TestCase extractTestCase(MethodDeclaration method, String className, 
-                                   Map<String, PageObject> pageObjects, Map<String, String> configUrls) {
+                                   PageObjectIndex index, Map<String, String> configUrls) {
         String testName = method.getNameAsString();
         String description = extractDescription(method);
-        List<TestStep> steps = extractSteps(method, pageObjects);
+        List<TestStep> steps = extractSteps(method, index);
         
         // Extract URL from config based on test method name
         String testUrl = ConfigPropertiesReader.findMatchingUrl(testName, configUrls);
         
+        metrics.increment(ExtractionMetrics.Counter.TEST_CASES);
         return new TestCase(testName, className, description, steps, testUrl);
     }
     
@@ -61,17 +71,21 @@ public class TestCaseExtractor {
     }
     
     /**
-     * Extract description from single-line comments
+     * Extract description from single-line comments on or inside the method. The comment
+     * nodes already hold their source text, so the method is not printed back to text.
      */
     private String extractCommentDescription(MethodDeclaration method) {
-        String methodSource = method.toString();
-        String[] lines = methodSource.split("\n");
+        // The method's own comment comes first, then the comments in its body in source order
+        List<Comment> comments = new ArrayList<>();
+        method.getComment().ifPresent(comments::add);
+        List<Comment> contained = method.getAllContainedComments();
+        contained.sort(Comparator.comparing(comment -> comment.getBegin().orElse(Position.HOME)));
+        comments.addAll(contained);
         
         // Look for comments mentioning "test case"
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-            if (line.startsWith("//") && line.contains("test case")) {
-                return line.substring(2).trim();
+        for (Comment comment : comments) {
+            if (comment.isLineComment() && comment.getContent().contains("test case")) {
+                return comment.getContent().trim();
             }
         }
         
@@ -81,14 +95,14 @@ public class TestCaseExtractor {
     /**
      * Extract test steps from method body
      */
-    private List<TestStep> extractSteps(MethodDeclaration method, Map<String, PageObject> pageObjects) {
+    private List<TestStep> extractSteps(MethodDeclaration method, PageObjectIndex index) {
         List<TestStep> steps = new ArrayList<>();
         
         method.getBody().ifPresent(body -> {
             int stepNumber = 1;
             // Process each statement in the method
             for (Statement stmt : body.getStatements()) {
-                List<TestStep> stepsFromStatement = stepExtractor.analyzeStatement(stmt, pageObjects, stepNumber);
+                List<TestStep> stepsFromStatement = stepExtractor.analyzeStatement(stmt, index, stepNumber);
                 steps.addAll(stepsFromStatement);
                 stepNumber += stepsFromStatement.size();
             }
@@ -0,0 +1,122 @@
+package com.testparser.extractors;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.SwitchStmt;
+import com.github.javaparser.ast.visitor.GenericVisitorAdapter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * What test extraction needs from a test file, collected in a single traversal of its AST:
+ * the @Test methods, the @Test methods containing switch statements (data-driven tests)
+ * together with those switches, a method-by-name index and the first class declared.
+ */
+public class TestFileOutline {
+    
+    private final MethodIndex methodIndex = new MethodIndex();
+    private final List<MethodDeclaration> testMethods = new ArrayList<>();
+    private final List<DataDrivenMethod> testMethodsWithBody = new ArrayList<>();
+    private String firstClassName;
+    
+    private TestFileOutline() {
+    }
+    
+    public static TestFileOutline of(CompilationUnit cu) {
+        TestFileOutline outline = new TestFileOutline();
+        cu.accept(new OutlineVisitor(), outline);
+        return outline;
+    }
+    
+    public MethodIndex getMethodIndex() { return methodIndex; }
+    
+    /**
+     * Methods annotated with @Test, in declaration order
+     */
+    public List<MethodDeclaration> getTestMethods() { return testMethods; }
+    
+    /**
+     * Test methods whose body contains at least one switch statement, in declaration order
+     */
+    public List<DataDrivenMethod> getDataDrivenMethods() {
+        return testMethodsWithBody.stream()
+                .filter(method -> !method.getSwitches().isEmpty())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Name of the first class (not interface) declared in the file, or null if there is none
+     */
+    public String getFirstClassName() { return firstClassName; }
+    
+    /**
+     * A data-driven @Test method and every switch statement in its body, outermost first
+     */
+    public static class DataDrivenMethod {
+        private final MethodDeclaration method;
+        private final List<SwitchStmt> switches = new ArrayList<>();
+        
+        DataDrivenMethod(MethodDeclaration method) {
+            this.method = method;
+        }
+        
+        public MethodDeclaration getMethod() { return method; }
+        public List<SwitchStmt> getSwitches() { return switches; }
+    }
+    
+    private static boolean isTestMethod(MethodDeclaration method) {
+        return method.getAnnotations().stream()
+                .anyMatch(ann -> ann.getNameAsString().equals("Test"));
+    }
+    
+    /**
+     * Records methods as they are entered, so every list ends up in declaration order.
+     * Switch statements are added to every enclosing @Test method, as body.findAll would.
+     */
+    private static class OutlineVisitor extends GenericVisitorAdapter<Void, TestFileOutline> {
+        private final Deque<DataDrivenMethod> enclosingTestMethods = new ArrayDeque<>();
+        
+        @Override
+        public Void visit(ClassOrInterfaceDeclaration n, TestFileOutline outline) {
+            if (outline.firstClassName == null && !n.isInterface()) {
+                outline.firstClassName = n.getNameAsString();
+            }
+            return super.visit(n, outline);
+        }
+        
+        @Override
+        public Void visit(MethodDeclaration n, TestFileOutline outline) {
+            outline.methodIndex.add(n);
+            if (!isTestMethod(n)) {
+                return super.visit(n, outline);
+            }
+            
+            outline.testMethods.add(n);
+            if (!n.getBody().isPresent()) {
+                return super.visit(n, outline);
+            }
+            
+            DataDrivenMethod method = new DataDrivenMethod(n);
+            outline.testMethodsWithBody.add(method);
+            enclosingTestMethods.push(method);
+            try {
+                return super.visit(n, outline);
+            } finally {
+                enclosingTestMethods.pop();
+            }
+        }
+        
+        @Override
+        public Void visit(SwitchStmt n, TestFileOutline outline) {
+            for (DataDrivenMethod method : enclosingTestMethods) {
+                method.getSwitches().add(n);
+            }
+            return super.visit(n, outline);
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package com.testparser.extractors;
 
-import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.stmt.SwitchStmt;
 import com.github.javaparser.ast.stmt.SwitchEntry;
+import com.testparser.metrics.ExtractionEvents;
+import com.testparser.metrics.ExtractionMetrics;
 import com.testparser.models.PageObject;
 import com.testparser.models.TestCase;
 
 import java.io.File;
-import java.io.FileInputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -23,7 +24,11 @@ public class TestFileParser {
     private final TestCaseExtractor testCaseExtractor;
     
     public TestFileParser() {
-        this.testCaseExtractor = new TestCaseExtractor();
+        this(ExtractionMetrics.disabled());
+    }
+    
+    public TestFileParser(ExtractionMetrics metrics) {
+        this.testCaseExtractor = new TestCaseExtractor(metrics);
     }
     
     /**
@@ -31,103 +36,97 @@ public class TestFileParser {
      */
     public void parseTestFile(File file, List<TestCase> testCases, Map<String, PageObject> pageObjects, 
                              Map<String, String> configUrls) throws Exception {
-        JavaParser parser = new JavaParser();
-        CompilationUnit cu = parser.parse(new FileInputStream(file)).getResult().orElse(null);
+        parseTestFile(new CompilationUnitCache().take(file.toPath()), testCases, new PageObjectIndex(pageObjects), 
+                configUrls);
+    }
+    
+    /**
+     * Extract test cases from a file already parsed by the compilation unit cache
+     */
+    public void parseTestFile(SourceFile sourceFile, List<TestCase> testCases, PageObjectIndex index, 
+                             Map<String, String> configUrls) {
+        CompilationUnit cu = sourceFile.getCompilationUnit();
         
         if (cu == null) {
             return;
         }
         
-        String className = getClassName(cu);
+        // One traversal classifies the methods and collects the switch statements of data-driven tests
+        TestFileOutline outline = TestFileOutline.of(cu);
+        String className = getClassName(cu, outline);
         
         // Extract traditional @Test methods
-        cu.findAll(MethodDeclaration.class).forEach(method -> {
-            if (isTestMethod(method)) {
-                TestCase testCase = testCaseExtractor.extractTestCase(method, className, pageObjects, configUrls);
-                if (testCase != null) {
-                    testCases.add(testCase);
-                }
+        for (MethodDeclaration method : outline.getTestMethods()) {
+            TestCase testCase = extractTestCase(method, className, index, configUrls, sourceFile.getPath());
+            if (testCase != null) {
+                testCases.add(testCase);
             }
-        });
+        }
         
         // Extract data-driven test methods (containing switch statements)
-        cu.findAll(MethodDeclaration.class).forEach(method -> {
-            if (isDataDrivenTestMethod(method)) {
-                List<TestCase> dataDrivenCases = extractDataDrivenTestCases(method, className, pageObjects, cu, configUrls);
-                testCases.addAll(dataDrivenCases);
-            }
-        });
+        for (TestFileOutline.DataDrivenMethod method : outline.getDataDrivenMethods()) {
+            testCases.addAll(extractDataDrivenTestCases(method, className, index, outline.getMethodIndex(), 
+                    configUrls, sourceFile.getPath()));
+        }
+    }
+    
+    /**
+     * Extract one test case, reporting it as a JFR event when events are registered
+     */
+    private TestCase extractTestCase(MethodDeclaration method, String className, PageObjectIndex index, 
+                                     Map<String, String> configUrls, Path path) {
+        ExtractionEvents.TestCaseExtracted event = new ExtractionEvents.TestCaseExtracted();
+        event.begin();
+        TestCase testCase = testCaseExtractor.extractTestCase(method, className, index, configUrls);
+        if (testCase != null && event.shouldCommit()) {
+            event.path = path.toString();
+            event.className = className;
+            event.testName = testCase.getTestName();
+            event.stepCount = testCase.getSteps().size();
+            event.commit();
+        }
+        return testCase;
     }
     
     /**
      * Extract class name from compilation unit
      */
-    private String getClassName(CompilationUnit cu) {
+    private String getClassName(CompilationUnit cu, TestFileOutline outline) {
         // Try primary type name first
         Optional<String> primaryTypeName = cu.getPrimaryTypeName();
         if (primaryTypeName.isPresent()) {
             return primaryTypeName.get();
         }
         
-        // Fallback: find class declarations directly
-        return cu.findAll(com.github.javaparser.ast.body.ClassOrInterfaceDeclaration.class).stream()
-                .filter(classDecl -> !classDecl.isInterface()) // Only classes, not interfaces
-                .map(classDecl -> classDecl.getNameAsString())
-                .findFirst()
-                .orElse("Unknown");
-    }
-    
-    /**
-     * Check if method has @Test annotation
-     */
-    private boolean isTestMethod(MethodDeclaration method) {
-        return method.getAnnotations().stream()
-                .anyMatch(ann -> ann.getNameAsString().equals("Test"));
-    }
-    
-    /**
-     * Check if method is data-driven (has @Test and contains switch statement)
-     */
-    private boolean isDataDrivenTestMethod(MethodDeclaration method) {
-        // Must have @Test annotation
-        boolean hasTestAnnotation = method.getAnnotations().stream()
-                .anyMatch(ann -> ann.getNameAsString().equals("Test"));
-        
-        if (!hasTestAnnotation) return false;
-        
-        // Must contain switch statement for data-driven logic
-        return method.getBody().map(body -> 
-            body.findAll(SwitchStmt.class).size() > 0
-        ).orElse(false);
+        // Fallback: first class declared in the file
+        return outline.getFirstClassName() != null ? outline.getFirstClassName() : "Unknown";
     }
     
     /**
      * Extract test cases from data-driven test methods
      */
-    private List<TestCase> extractDataDrivenTestCases(MethodDeclaration method, String className, 
-                                                     Map<String, PageObject> pageObjects, CompilationUnit cu, 
-                                                     Map<String, String> configUrls) {
+    private List<TestCase> extractDataDrivenTestCases(TestFileOutline.DataDrivenMethod method, String className, 
+                                                     PageObjectIndex index, MethodIndex methodIndex, 
+                                                     Map<String, String> configUrls, Path path) {
         List<TestCase> testCases = new ArrayList<>();
         
-        method.getBody().ifPresent(body -> {
-            // Find switch statements in the method
-            body.findAll(SwitchStmt.class).forEach(switchStmt -> {
-                // Process each switch case
-                switchStmt.getEntries().forEach(entry -> {
-                    String caseValue = extractSwitchCaseValue(entry);
-                    if (caseValue != null && !caseValue.equals("default")) {
-                        // Find the corresponding private method for this case
-                        MethodDeclaration privateMethod = findPrivateMethod(cu, caseValue);
-                        if (privateMethod != null) {
-                            TestCase testCase = testCaseExtractor.extractTestCase(privateMethod, className, pageObjects, configUrls);
-                            if (testCase != null) {
-                                testCases.add(testCase);
-                            }
+        // Switch statements were collected from the method body by the outline pass
+        for (SwitchStmt switchStmt : method.getSwitches()) {
+            // Process each switch case
+            for (SwitchEntry entry : switchStmt.getEntries()) {
+                String caseValue = extractSwitchCaseValue(entry);
+                if (caseValue != null && !caseValue.equals("default")) {
+                    // Find the corresponding private method for this case
+                    MethodDeclaration privateMethod = findPrivateMethod(methodIndex, caseValue);
+                    if (privateMethod != null) {
+                        TestCase testCase = extractTestCase(privateMethod, className, index, configUrls, path);
+                        if (testCase != null) {
+                            testCases.add(testCase);
                         }
                     }
-                });
-            });
-        });
+                }
+            }
+        }
         
         return testCases;
     }
@@ -139,15 +138,14 @@ public class TestFileParser {
         if (entry.getLabels().isEmpty()) return "default";
         
         // Remove quotes from case value
-        return entry.getLabels().get(0).toString().replace("\"", "");
+        return SourceText.of(entry.getLabels().get(0)).replace("\"", "");
     }
     
     /**
      * Find a private method by name in the compilation unit
      */
-    private MethodDeclaration findPrivateMethod(CompilationUnit cu, String methodName) {
-        return cu.findAll(MethodDeclaration.class).stream()
-                .filter(method -> method.getNameAsString().equals(methodName))
+    private MethodDeclaration findPrivateMethod(MethodIndex methodIndex, String methodName) {
+        return methodIndex.getMethods(methodName).stream()
                 .filter(method -> method.isPrivate() || method.isPublic()) // Include both private and public methods
                 .findFirst()
                 .orElse(null);
@@ -1,71 +1,147 @@
 package com.testparser.extractors;
 
+import com.testparser.cache.CacheEntry;
+import com.testparser.cache.ExtractionCache;
+import com.testparser.metrics.ExtractionMetrics;
 import com.testparser.models.PageObject;
 import com.testparser.models.TestCase;
+import com.testparser.utils.ExtractionPool;
 
-import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
- * Handles scanning and identification of test files in project directories
+ * Handles parsing of the test files identified by the project walker
  */
 public class TestFileScanner {
     
+    private final ExtractionMetrics metrics;
+    
+    public TestFileScanner() {
+        this(ExtractionMetrics.disabled());
+    }
+    
+    public TestFileScanner(ExtractionMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
     /**
-     * Recursively scan directory for test files
+     * Parse each test file in walk order on the calling thread
      */
-    public void scanForTestFiles(File dir, List<TestCase> testCases, Map<String, PageObject> pageObjects, 
+    public void scanForTestFiles(List<Path> testFiles, List<TestCase> testCases, Map<String, PageObject> pageObjects, 
                                 Map<String, String> configUrls, TestFileParser parser) {
-        if (!dir.exists() || !dir.isDirectory()) {
-            return;
-        }
+        scanForTestFiles(testFiles, new CompilationUnitCache(), ExtractionCache.disabled(), testCases::add, 
+                new PageObjectIndex(pageObjects), configUrls, parser, ExtractionPool.sequential());
+    }
+    
+    /**
+     * Parse test files on the extraction pool, reusing files the page object phase retained
+     * and results stored in the extraction cache. Files are read on the pool's I/O threads and
+     * parsed and extracted on its workers, and each file's AST is dropped as soon as its test
+     * cases are extracted. Each file fills its own buffer and the buffers are handed to the
+     * sink in walk order as they complete, so the result matches the sequential scan exactly.
+     */
+    public void scanForTestFiles(List<Path> testFiles, CompilationUnitCache cache, ExtractionCache extractionCache, 
+                                Consumer<TestCase> sink, PageObjectIndex index, 
+                                Map<String, String> configUrls, TestFileParser parser, ExtractionPool pool) {
+        String dependencyDigest = extractionCache.isEnabled() 
+                ? ExtractionCache.dependencyDigest(index.getPageObjects(), configUrls) : null;
         
-        File[] files = dir.listFiles();
-        if (files == null) return;
+        pool.forEachStaged(testFiles, 
+                path -> readTestFile(path, cache, extractionCache, dependencyDigest), 
+                testFile -> extractTestFile(testFile, cache, extractionCache, dependencyDigest, index, configUrls, parser), 
+                buffer -> buffer.forEach(sink));
+    }
+    
+    /**
+     * A test file on its way through the read and extract stages
+     */
+    private static class TestFile {
+        final Path path;
+        CacheEntry entry;
+        List<TestCase> cached;
+        // Null if the file is known to have no @Test marker
+        SourceFile sourceFile;
+        Exception error;
         
-        for (File file : files) {
-            if (file.isDirectory()) {
-                // Recursively scan subdirectories
-                scanForTestFiles(file, testCases, pageObjects, configUrls, parser);
-            } else if (file.getName().endsWith(".java")) {
-                if (isTestFile(file)) {
-                    try {
-                        parser.parseTestFile(file, testCases, pageObjects, configUrls);
-                    } catch (Exception e) {
-                        System.err.println("Error parsing test file " + file.getName() + ": " + e.getMessage());
-                        e.printStackTrace();
-                    }
+        TestFile(Path path) {
+            this.path = path;
+        }
+    }
+    
+    /**
+     * I/O stage: look up cached results, or take the file from the cache or read it. Files the
+     * page object phase scanned without finding a @Test marker are not read again.
+     */
+    private static TestFile readTestFile(Path path, CompilationUnitCache cache, ExtractionCache extractionCache, 
+                                         String dependencyDigest) {
+        TestFile testFile = new TestFile(path);
+        try {
+            testFile.entry = extractionCache.entryFor(path);
+            testFile.cached = extractionCache.cachedTestCases(testFile.entry, dependencyDigest);
+            if (testFile.cached != null) {
+                cache.release(path);
+            } else {
+                // Tests are the last consumer of a file, so a retained AST leaves the cache here
+                SourceFile retained = cache.takeRetained(path);
+                SourceMarkers markers = cache.markersFor(path);
+                if (retained != null) {
+                    testFile.sourceFile = retained;
+                } else if (markers == null || markers.hasTestAnnotation()) {
+                    testFile.sourceFile = cache.read(path);
                 }
+                // Otherwise the page object phase already found no @Test marker, and the file is not read again
             }
+        } catch (Exception e) {
+            testFile.error = e;
         }
+        return testFile;
     }
     
     /**
-     * Determine if a file is a test file based on location and naming patterns
+     * CPU stage: parse the file if it may declare tests and extract its test cases into a buffer
      */
-    private boolean isTestFile(File file) {
-        String fileName = file.getName();
-        String parentDirName = file.getParentFile().getName().toLowerCase();
-        
-        // Check if file is in tests folder
-        if (parentDirName.equals("test") || parentDirName.equals("tests")) {
-            return true;
-        }
-        
-        // Check if any parent directory is test/tests
-        File current = file.getParentFile();
-        while (current != null) {
-            String dirName = current.getName().toLowerCase();
-            if (dirName.equals("test") || dirName.equals("tests")) {
-                return true;
+    private List<TestCase> extractTestFile(TestFile testFile, CompilationUnitCache cache, 
+                                           ExtractionCache extractionCache, String dependencyDigest, 
+                                           PageObjectIndex index, Map<String, String> configUrls, 
+                                           TestFileParser parser) {
+        List<TestCase> buffer = new ArrayList<>();
+        long startTime = metrics.startTime();
+        long startAllocated = metrics.threadAllocatedBytes();
+        CacheEntry entry = testFile.entry;
+        try {
+            if (testFile.error != null) {
+                throw testFile.error;
+            }
+            if (testFile.cached != null) {
+                buffer.addAll(testFile.cached);
+            } else {
+                SourceFile sourceFile = testFile.sourceFile;
+                // A file without a @Test annotation yields no test cases, so it is not parsed
+                if (sourceFile != null && sourceFile.getMarkers().hasTestAnnotation()) {
+                    parser.parseTestFile(cache.parse(sourceFile), buffer, index, configUrls);
+                }
+                
+                if (entry != null) {
+                    entry.setTestDependencyDigest(dependencyDigest);
+                    entry.setTestCases(buffer);
+                    extractionCache.save(entry);
+                }
+            }
+            
+            if (entry != null) {
+                // The buffer is merged into the output; the entry does not need to keep it
+                entry.setTestCases(null);
             }
-            current = current.getParentFile();
+        } catch (Exception e) {
+            System.err.println("Error parsing test file " + testFile.path.getFileName() + ": " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            metrics.recordWork(ExtractionMetrics.Phase.TEST_FILES, startTime, startAllocated);
         }
-        
-        // Check filename patterns (Test prefix or Test/Tests suffix)
-        return fileName.startsWith("Test") || 
-               fileName.endsWith("Test.java") || 
-               fileName.endsWith("Tests.java");
+        return buffer;
     }
-}
\ No newline at end of file
+}
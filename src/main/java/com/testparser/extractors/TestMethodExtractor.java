@@ -1,13 +1,18 @@
 package com.testparser.extractors;
 
+import com.testparser.cache.ExtractionCache;
+import com.testparser.metrics.ExtractionMetrics;
 import com.testparser.models.PageObject;
 import com.testparser.models.TestCase;
 import com.testparser.utils.ConfigPropertiesReader;
+import com.testparser.utils.ExtractionPool;
+import com.testparser.utils.ProjectFileWalker;
+import com.testparser.utils.ProjectFiles;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Main coordinator class for extracting test cases from Java test files
@@ -18,27 +23,74 @@ public class TestMethodExtractor {
     private final TestFileParser fileParser;
     
     public TestMethodExtractor() {
-        this.fileScanner = new TestFileScanner();
-        this.fileParser = new TestFileParser();
+        this(ExtractionMetrics.disabled());
+    }
+    
+    /**
+     * Extractor that records per-file, per-step and selector strategy metrics
+     */
+    public TestMethodExtractor(ExtractionMetrics metrics) {
+        this.fileScanner = new TestFileScanner(metrics);
+        this.fileParser = new TestFileParser(metrics);
     }
     
     /**
      * Main entry point - extracts test cases from Java project
      */
     public List<TestCase> extractTestCases(String projectPath, Map<String, PageObject> pageObjects) {
-        List<TestCase> testCases = new ArrayList<>();
-        
         try {
+            ProjectFiles projectFiles = ProjectFileWalker.walk(projectPath);
+            
             // Load URLs from config.properties
-            Map<String, String> configUrls = ConfigPropertiesReader.loadUrlsFromProject(projectPath);
+            Map<String, String> configUrls = ConfigPropertiesReader.loadUrlsFromProject(projectPath, projectFiles);
             
-            File projectDir = new File(projectPath);
-            fileScanner.scanForTestFiles(projectDir, testCases, pageObjects, configUrls, fileParser);
+            return extractTestCases(projectFiles, pageObjects, configUrls);
         } catch (Exception e) {
             System.err.println("Error extracting test cases: " + e.getMessage());
             e.printStackTrace();
+            return new ArrayList<>();
         }
-        
+    }
+    
+    /**
+     * Extract test cases from the test files found by the project walker
+     */
+    public List<TestCase> extractTestCases(ProjectFiles projectFiles, Map<String, PageObject> pageObjects, 
+                                           Map<String, String> configUrls) {
+        List<TestCase> testCases = new ArrayList<>();
+        fileScanner.scanForTestFiles(projectFiles.getTestFiles(), testCases, pageObjects, configUrls, fileParser);
         return testCases;
     }
+    
+    /**
+     * Extract test cases with test files parsed in parallel on the given pool
+     */
+    public List<TestCase> extractTestCases(ProjectFiles projectFiles, Map<String, PageObject> pageObjects, 
+                                           Map<String, String> configUrls, ExtractionPool pool) {
+        return extractTestCases(projectFiles, pageObjects, configUrls, pool, new CompilationUnitCache(), 
+                ExtractionCache.disabled());
+    }
+    
+    /**
+     * Extract test cases, reusing files the page object phase already parsed and
+     * results stored in the extraction cache
+     */
+    public List<TestCase> extractTestCases(ProjectFiles projectFiles, Map<String, PageObject> pageObjects, 
+                                           Map<String, String> configUrls, ExtractionPool pool, 
+                                           CompilationUnitCache cache, ExtractionCache extractionCache) {
+        List<TestCase> testCases = new ArrayList<>();
+        extractTestCases(projectFiles, new PageObjectIndex(pageObjects), configUrls, pool, cache, extractionCache, 
+                testCases::add);
+        return testCases;
+    }
+    
+    /**
+     * Extract test cases and hand them to the sink in file order as soon as each file is done
+     */
+    public void extractTestCases(ProjectFiles projectFiles, PageObjectIndex index, 
+                                 Map<String, String> configUrls, ExtractionPool pool, CompilationUnitCache cache, 
+                                 ExtractionCache extractionCache, Consumer<TestCase> sink) {
+        fileScanner.scanForTestFiles(projectFiles.getTestFiles(), cache, extractionCache, sink, index, 
+                configUrls, fileParser, pool);
+    }
 }
\ No newline at end of file
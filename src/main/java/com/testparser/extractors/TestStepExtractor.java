@@ -2,87 +2,89 @@ package com.testparser.extractors;
 
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.stmt.Statement;
-import com.testparser.models.PageObject;
+import com.testparser.metrics.ExtractionMetrics;
+import com.testparser.models.ActionType;
 import com.testparser.models.TestStep;
+import com.testparser.utils.StringPool;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Enhanced TestStepExtractor with better assertion handling
  */
 public class TestStepExtractor {
     
-    private static final Map<String, String> ACTION_PATTERNS = Map.of(
-        "click", "click|Click",
-        "type", "sendKeys|type|setText|enterText|enter",
-        "select", "select|Select",
-        "wait", "wait|Wait|until",
-        "assert", "assert|Assert",
-        "verify", "verify|Verify|expect|should|check",
-        "navigate", "get|navigate|goTo",
-        "drag", "drag|dragAndDrop"
-    );
+    private static final ActionClassifier ACTION_CLASSIFIER = ActionClassifier.getDefault();
+    
+    // Distinct selectors and values in a suite number in the thousands; past this, text is not shared
+    private static final int STRING_POOL_CAPACITY = 65536;
     
     private final ElementSelectorFinder selectorFinder;
+    private final StringPool stringPool = new StringPool(STRING_POOL_CAPACITY);
+    private final ExtractionMetrics metrics;
     
     public TestStepExtractor() {
-        this.selectorFinder = new ElementSelectorFinder();
+        this(ExtractionMetrics.disabled());
+    }
+    
+    public TestStepExtractor(ExtractionMetrics metrics) {
+        this.selectorFinder = new ElementSelectorFinder(metrics);
+        this.metrics = metrics;
     }
     
-    public List<TestStep> analyzeStatement(Statement stmt, Map<String, PageObject> pageObjects, int startingStepNumber) {
+    public List<TestStep> analyzeStatement(Statement stmt, PageObjectIndex index, int startingStepNumber) {
+        long startTime = metrics.startTime();
         List<TestStep> steps = new ArrayList<>();
         List<MethodCallExpr> methodCalls = stmt.findAll(MethodCallExpr.class);
         
         int currentStepNumber = startingStepNumber;
         for (MethodCallExpr call : methodCalls) {
             String methodName = call.getNameAsString();
-            String actionType = determineActionType(methodName);
+            ActionType actionType = determineActionType(methodName);
             
             if (actionType != null) {
                 String elementSelector = null;
                 String value = null;
                 
-                if (isAssertionAction(actionType)) {
+                if (actionType.isAssertion()) {
                     // Enhanced assertion handling
-                    AssertionInfo assertionInfo = analyzeAssertionCall(call, pageObjects);
+                    AssertionInfo assertionInfo = analyzeAssertionCall(call, index);
                     elementSelector = assertionInfo.elementSelector;
                     value = assertionInfo.expectedValue;
                 } else {
                     // Regular action handling
-                    elementSelector = selectorFinder.findElementSelector(call, pageObjects);
+                    elementSelector = selectorFinder.findElementSelector(call, index);
                     value = extractValue(call);
                 }
                 
                 String description = generateStepDescription(actionType, elementSelector, value, methodName);
-                steps.add(new TestStep(currentStepNumber, description, actionType, elementSelector, value));
+                // Selectors and values repeat across steps; descriptions embed values and are mostly unique
+                steps.add(new TestStep(currentStepNumber, description, actionType, 
+                        stringPool.pooled(elementSelector), stringPool.pooled(value)));
                 currentStepNumber++;
             }
         }
         
+        metrics.recordTime(ExtractionMetrics.Phase.STEPS, startTime);
+        metrics.add(ExtractionMetrics.Counter.STEPS, steps.size());
         return steps;
     }
     
-    private boolean isAssertionAction(String actionType) {
-        return "assert".equals(actionType) || "verify".equals(actionType);
-    }
-    
     /**
      * Analyze assertion method calls to extract element and expected value
      */
-    private AssertionInfo analyzeAssertionCall(MethodCallExpr call, Map<String, PageObject> pageObjects) {
+    private AssertionInfo analyzeAssertionCall(MethodCallExpr call, PageObjectIndex index) {
         String methodName = call.getNameAsString();
         String elementSelector = null;
         String expectedValue = null;
         
         // Try to find element selector first
-        elementSelector = selectorFinder.findElementSelector(call, pageObjects);
+        elementSelector = selectorFinder.findElementSelector(call, index);
         
         // If no direct element found, try to extract from method name
         if (elementSelector == null) {
-            elementSelector = extractElementFromAssertionMethod(methodName, pageObjects);
+            elementSelector = extractElementFromAssertionMethod(methodName, index);
         }
         
         // Extract expected value from arguments
@@ -99,7 +101,7 @@ public class TestStepExtractor {
     /**
      * Extract element information from assertion method names
      */
-    private String extractElementFromAssertionMethod(String methodName, Map<String, PageObject> pageObjects) {
+    private String extractElementFromAssertionMethod(String methodName, PageObjectIndex index) {
         // Remove assertion prefixes and boolean prefixes
         String elementName = methodName.toLowerCase()
             .replaceFirst("^(assert|verify|check|expect|should|is|has|get)", "")
@@ -109,18 +111,9 @@ public class TestStepExtractor {
             return null;
         }
         
-        // Search through page objects for matching elements
-        for (PageObject pageObject : pageObjects.values()) {
-            for (Map.Entry<String, String> element : pageObject.getElements().entrySet()) {
-                String elementKey = element.getKey().toLowerCase();
-                
-                if (elementKey.contains(elementName) || elementName.contains(elementKey)) {
-                    return element.getValue();
-                }
-            }
-        }
-        
-        return null;
+        // First element whose key contains the name, or is contained in it
+        return index.selectorOrNull(PageObjectIndex.earliest(index.firstKeyContaining(elementName), 
+                                                             index.firstKeyContainedIn(elementName)));
     }
     
     /**
@@ -141,14 +134,14 @@ public class TestStepExtractor {
         
         if (methodName.contains("true") || methodName.contains("false")) {
             // Boolean assertions - return the condition
-            return call.getArguments().get(0).toString();
+            return SourceText.of(call.getArguments().get(0));
         } else if (methodName.contains("equals") && call.getArguments().size() >= 2) {
             // Equality assertions - return expected value (usually second argument)
-            String expectedArg = call.getArguments().get(1).toString();
+            String expectedArg = SourceText.of(call.getArguments().get(1));
             return cleanArgumentValue(expectedArg);
         } else {
             // Default to first argument
-            String firstArg = call.getArguments().get(0).toString();
+            String firstArg = SourceText.of(call.getArguments().get(0));
             return cleanArgumentValue(firstArg);
         }
     }
@@ -163,19 +156,13 @@ public class TestStepExtractor {
         return arg;
     }
     
-    private String determineActionType(String methodName) {
-        for (Map.Entry<String, String> entry : ACTION_PATTERNS.entrySet()) {
-            Pattern pattern = Pattern.compile(entry.getValue(), Pattern.CASE_INSENSITIVE);
-            if (pattern.matcher(methodName).find()) {
-                return entry.getKey();
-            }
-        }
-        return null;
+    private ActionType determineActionType(String methodName) {
+        return ACTION_CLASSIFIER.classify(methodName);
     }
     
     private String extractValue(MethodCallExpr call) {
         if (call.getArguments().size() > 0) {
-            String arg = call.getArguments().get(0).toString();
+            String arg = SourceText.of(call.getArguments().get(0));
             return cleanArgumentValue(arg);
         }
         return null;
@@ -184,10 +171,10 @@ public class TestStepExtractor {
     /**
      * Generate improved human-readable step description
      */
-    private String generateStepDescription(String actionType, String elementSelector, String value, String methodName) {
+    private String generateStepDescription(ActionType actionType, String elementSelector, String value, String methodName) {
         StringBuilder desc = new StringBuilder();
         
-        if (isAssertionAction(actionType)) {
+        if (actionType.isAssertion()) {
             // Enhanced assertion descriptions
             if (methodName.toLowerCase().contains("true")) {
                 desc.append("Assert that ").append(value != null ? value : "condition").append(" is true");
@@ -212,7 +199,7 @@ public class TestStepExtractor {
             }
         } else {
             // Regular action descriptions
-            desc.append(actionType.substring(0, 1).toUpperCase()).append(actionType.substring(1));
+            desc.append(actionType.getDisplayName());
             
             if (elementSelector != null && !elementSelector.trim().isEmpty()) {
                 desc.append(" on element: ").append(elementSelector);
@@ -0,0 +1,133 @@
+package com.testparser.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+
+/**
+ * Java Flight Recorder events for the extraction stages. The events are not registered
+ * until {@link #register()} is called, so without --jfr-events every begin/commit is a no-op.
+ * Once registered they show up in any recording that enables them, e.g.
+ * jcmd PID JFR.start name=parser settings=profile filename=parser.jfr
+ */
+public final class ExtractionEvents {
+    
+    private static volatile boolean registered;
+    
+    private ExtractionEvents() {
+    }
+    
+    /**
+     * Register the events with Flight Recorder; safe to call more than once
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        FlightRecorder.register(FileParsed.class);
+        FlightRecorder.register(PageObjectRegistered.class);
+        FlightRecorder.register(TestCaseExtracted.class);
+        FlightRecorder.register(SelectorResolved.class);
+        FlightRecorder.register(OutputChunkWritten.class);
+        registered = true;
+    }
+    
+    @Name("com.testparser.FileParsed")
+    @Label("File Parsed")
+    @Description("A source file parsed into an AST, or read and skipped by the pre-filter")
+    @Category({"Selenium Test Parser"})
+    @Registered(false)
+    public static class FileParsed extends Event {
+        @Label("Path")
+        public String path;
+        
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+        
+        @Label("Parsed")
+        @Description("False if the file could not be parsed or was skipped")
+        public boolean parsed;
+        
+        @Label("Skipped")
+        @Description("True if the pre-filter found no test or page object markers and the file was not parsed")
+        public boolean skipped;
+    }
+    
+    @Name("com.testparser.PageObjectRegistered")
+    @Label("Page Object Registered")
+    @Description("A page object candidate file checked and, if it is a page object, registered")
+    @Category({"Selenium Test Parser"})
+    @Registered(false)
+    public static class PageObjectRegistered extends Event {
+        @Label("Path")
+        public String path;
+        
+        @Label("Class Name")
+        @Description("Null if the file is not a page object")
+        public String className;
+        
+        @Label("Elements")
+        public int elementCount;
+        
+        @Label("From Cache")
+        public boolean fromCache;
+    }
+    
+    @Name("com.testparser.TestCaseExtracted")
+    @Label("Test Case Extracted")
+    @Description("Steps and selectors extracted for one test case")
+    @Category({"Selenium Test Parser"})
+    @Registered(false)
+    public static class TestCaseExtracted extends Event {
+        @Label("Path")
+        public String path;
+        
+        @Label("Class Name")
+        public String className;
+        
+        @Label("Test Name")
+        public String testName;
+        
+        @Label("Steps")
+        public int stepCount;
+    }
+    
+    @Name("com.testparser.SelectorResolved")
+    @Label("Selector Resolved")
+    @Description("One ElementSelectorFinder lookup and the strategy that resolved it")
+    @Category({"Selenium Test Parser"})
+    @Registered(false)
+    public static class SelectorResolved extends Event {
+        @Label("Call")
+        public String call;
+        
+        @Label("Strategy")
+        public String strategy;
+        
+        @Label("Selector")
+        public String selector;
+
+        @Label("Cached")
+        @Description("True if the result came from the selector resolution cache")
+        public boolean cached;
+    }
+    
+    @Name("com.testparser.OutputChunkWritten")
+    @Label("Output Chunk Written")
+    @Description("A part of the JSON report written: the header, one test case or the summary")
+    @Category({"Selenium Test Parser"})
+    @Registered(false)
+    public static class OutputChunkWritten extends Event {
+        @Label("Path")
+        public String path;
+        
+        @Label("Chunk")
+        public String chunk;
+    }
+}
@@ -0,0 +1,226 @@
+package com.testparser.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counters for one extraction run, safe to update from every worker thread.
+ * The disabled instance ignores all updates, and its timing methods return 0 without
+ * reading the clock, so instrumented code costs next to nothing when metrics are off.
+ */
+public class ExtractionMetrics {
+    
+    /**
+     * Timed phases. READ and PARSE are part of the page object and test file stages, and STEPS
+     * runs inside TEST_FILES. READ runs on the I/O threads when extraction is parallel.
+     */
+    public enum Phase {
+        WALK("walk"),
+        CONFIG("config"),
+        PAGE_OBJECTS("page_objects"),
+        READ("read"),
+        PARSE("parse"),
+        TEST_FILES("test_files"),
+        STEPS("steps"),
+        OUTPUT("output");
+        
+        private final String label;
+        
+        Phase(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() { return label; }
+    }
+    
+    public enum Counter {
+        FILES_READ("files_read"),
+        BYTES_READ("bytes_read"),
+        FILES_SKIPPED("files_skipped"),
+        TEST_CASES("test_cases"),
+        STEPS("steps"),
+        OUTPUT_BYTES("output_bytes"),
+        SELECTOR_CACHE_HITS("selector_cache_hits"),
+        SELECTOR_CACHE_MISSES("selector_cache_misses");
+        
+        private final String label;
+        
+        Counter(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() { return label; }
+    }
+    
+    /**
+     * The ElementSelectorFinder strategy that produced a selector, in the order they are tried
+     */
+    public enum Strategy {
+        BOOLEAN_ASSERTION("boolean_assertion"),
+        BY_LOCATOR("by_locator"),
+        ASSERTION_ARGUMENTS("assertion_arguments"),
+        SCOPED_PAGE_OBJECT("scoped_page_object"),
+        SEMANTIC("semantic"),
+        ANY_PAGE_OBJECT("any_page_object"),
+        UNRESOLVED("unresolved");
+        
+        private final String label;
+        
+        Strategy(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() { return label; }
+    }
+    
+    private static final ExtractionMetrics DISABLED = new ExtractionMetrics(false);
+    
+    private final boolean enabled;
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final LongAdder[] phaseNanos = adders(Phase.values().length);
+    private final LongAdder[] phaseCalls = adders(Phase.values().length);
+    private final LongAdder[] counters = adders(Counter.values().length);
+    private final LongAdder[] strategyHits = adders(Strategy.values().length);
+    private final ConcurrentMap<String, LongAdder> threadAllocatedBytes = new ConcurrentHashMap<>();
+    private final long startNanos;
+    private volatile long wallNanos = -1;
+    
+    private ExtractionMetrics(boolean enabled) {
+        this.enabled = enabled;
+        this.allocationBean = enabled ? allocationBean() : null;
+        this.startNanos = enabled ? System.nanoTime() : 0;
+    }
+    
+    /**
+     * Metrics that ignore every update
+     */
+    public static ExtractionMetrics disabled() {
+        return DISABLED;
+    }
+    
+    /**
+     * Start recording a run; wall time is measured from here until {@link #finish()}
+     */
+    public static ExtractionMetrics start() {
+        return new ExtractionMetrics(true);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Start time for a later {@link #recordTime} or {@link #recordWork} call
+     */
+    public long startTime() {
+        return enabled ? System.nanoTime() : 0;
+    }
+    
+    /**
+     * Bytes allocated so far by the current thread, or 0 if unavailable
+     */
+    public long threadAllocatedBytes() {
+        return allocationBean != null ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+    
+    /**
+     * Add the time since startTime to a phase
+     */
+    public void recordTime(Phase phase, long startTime) {
+        if (enabled) {
+            phaseNanos[phase.ordinal()].add(System.nanoTime() - startTime);
+            phaseCalls[phase.ordinal()].increment();
+        }
+    }
+    
+    /**
+     * Add the time since startTime to a phase and the bytes allocated since startAllocated to
+     * the current thread. Units of work recorded this way must not nest on one thread.
+     */
+    public void recordWork(Phase phase, long startTime, long startAllocated) {
+        if (enabled) {
+            recordTime(phase, startTime);
+            if (allocationBean != null) {
+                threadAllocatedBytes.computeIfAbsent(Thread.currentThread().getName(), name -> new LongAdder())
+                        .add(threadAllocatedBytes() - startAllocated);
+            }
+        }
+    }
+    
+    public void increment(Counter counter) {
+        add(counter, 1);
+    }
+    
+    public void add(Counter counter, long amount) {
+        if (enabled) {
+            counters[counter.ordinal()].add(amount);
+        }
+    }
+    
+    public void recordStrategy(Strategy strategy) {
+        if (enabled) {
+            strategyHits[strategy.ordinal()].increment();
+        }
+    }
+    
+    /**
+     * Stop the wall clock for the run
+     */
+    public void finish() {
+        if (enabled) {
+            wallNanos = System.nanoTime() - startNanos;
+        }
+    }
+    
+    public long getWallNanos() {
+        return wallNanos >= 0 ? wallNanos : System.nanoTime() - startNanos;
+    }
+    
+    public long getPhaseNanos(Phase phase) { return phaseNanos[phase.ordinal()].sum(); }
+    public long getPhaseCalls(Phase phase) { return phaseCalls[phase.ordinal()].sum(); }
+    public long getCount(Counter counter) { return counters[counter.ordinal()].sum(); }
+    public long getStrategyHits(Strategy strategy) { return strategyHits[strategy.ordinal()].sum(); }
+    
+    /**
+     * Share of selector lookups answered by the resolution cache, 0 if there were none
+     */
+    public double getSelectorCacheHitRatio() {
+        long hits = getCount(Counter.SELECTOR_CACHE_HITS);
+        long lookups = hits + getCount(Counter.SELECTOR_CACHE_MISSES);
+        return lookups > 0 ? (double) hits / lookups : 0;
+    }
+    
+    /**
+     * Allocated bytes per thread name, sorted by name; empty if the JVM cannot measure it
+     */
+    public Map<String, Long> getThreadAllocatedBytes() {
+        Map<String, Long> result = new TreeMap<>();
+        threadAllocatedBytes.forEach((thread, bytes) -> result.put(thread, bytes.sum()));
+        return result;
+    }
+    
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+    
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+            if (allocationBean.isThreadAllocatedMemorySupported()) {
+                allocationBean.setThreadAllocatedMemoryEnabled(true);
+                return allocationBean;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.testparser.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testparser.metrics.ExtractionMetrics.Counter;
+import com.testparser.metrics.ExtractionMetrics.Phase;
+import com.testparser.metrics.ExtractionMetrics.Strategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes run metrics next to the report as JSON and as Prometheus text exposition
+ * (suitable for the node_exporter textfile collector or a push gateway).
+ */
+public class MetricsExporter {
+    
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    
+    /**
+     * The JSON metrics file for a report, e.g. test-cases.json -> test-cases.metrics.json
+     */
+    public static File jsonFileFor(String outputFile) {
+        return new File(baseName(outputFile) + ".metrics.json");
+    }
+    
+    /**
+     * The Prometheus metrics file for a report, e.g. test-cases.json -> test-cases.metrics.prom
+     */
+    public static File prometheusFileFor(String outputFile) {
+        return new File(baseName(outputFile) + ".metrics.prom");
+    }
+    
+    /**
+     * Write both metrics files next to the report
+     */
+    public static void export(ExtractionMetrics metrics, String outputFile) throws IOException {
+        writeJson(metrics, jsonFileFor(outputFile));
+        writePrometheus(metrics, prometheusFileFor(outputFile));
+    }
+    
+    public static void writeJson(ExtractionMetrics metrics, File file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("wallSeconds", seconds(metrics.getWallNanos()));
+        
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            Map<String, Object> phaseMetrics = new LinkedHashMap<>();
+            phaseMetrics.put("seconds", seconds(metrics.getPhaseNanos(phase)));
+            phaseMetrics.put("calls", metrics.getPhaseCalls(phase));
+            phases.put(phase.getLabel(), phaseMetrics);
+        }
+        json.put("phases", phases);
+        
+        Map<String, Object> counters = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            counters.put(counter.getLabel(), metrics.getCount(counter));
+        }
+        json.put("counters", counters);
+        
+        Map<String, Object> strategies = new LinkedHashMap<>();
+        for (Strategy strategy : Strategy.values()) {
+            strategies.put(strategy.getLabel(), metrics.getStrategyHits(strategy));
+        }
+        json.put("selectorStrategies", strategies);
+        json.put("selectorCacheHitRatio", metrics.getSelectorCacheHitRatio());
+        json.put("threadAllocatedBytes", metrics.getThreadAllocatedBytes());
+        
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, json);
+    }
+    
+    public static void writePrometheus(ExtractionMetrics metrics, File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            header(out, "testparser_run_duration_seconds", "gauge", "Wall time of the extraction run.");
+            line(out, "testparser_run_duration_seconds " + format(seconds(metrics.getWallNanos())));
+            
+            header(out, "testparser_phase_duration_seconds_total", "counter",
+                    "Time spent in each phase, summed over worker threads.");
+            for (Phase phase : Phase.values()) {
+                line(out, "testparser_phase_duration_seconds_total{phase=\"" + phase.getLabel() + "\"} "
+                        + format(seconds(metrics.getPhaseNanos(phase))));
+            }
+            
+            header(out, "testparser_phase_calls_total", "counter", "Number of times each phase ran.");
+            for (Phase phase : Phase.values()) {
+                line(out, "testparser_phase_calls_total{phase=\"" + phase.getLabel() + "\"} "
+                        + metrics.getPhaseCalls(phase));
+            }
+            
+            for (Counter counter : Counter.values()) {
+                String name = "testparser_" + counter.getLabel() + "_total";
+                header(out, name, "counter", "Total " + counter.getLabel().replace('_', ' ') + ".");
+                line(out, name + " " + metrics.getCount(counter));
+            }
+            
+            header(out, "testparser_selector_resolutions_total", "counter",
+                    "Selector lookups by the strategy that resolved them.");
+            for (Strategy strategy : Strategy.values()) {
+                line(out, "testparser_selector_resolutions_total{strategy=\"" + strategy.getLabel() + "\"} "
+                        + metrics.getStrategyHits(strategy));
+            }
+            
+            header(out, "testparser_selector_cache_hit_ratio", "gauge", 
+                    "Share of selector lookups answered by the resolution cache.");
+            line(out, "testparser_selector_cache_hit_ratio " + format(metrics.getSelectorCacheHitRatio()));
+            
+            header(out, "testparser_thread_allocated_bytes_total", "counter",
+                    "Bytes allocated by each thread while doing extraction work.");
+            for (Map.Entry<String, Long> thread : metrics.getThreadAllocatedBytes().entrySet()) {
+                line(out, "testparser_thread_allocated_bytes_total{thread=\"" + escapeLabel(thread.getKey()) + "\"} "
+                        + thread.getValue());
+            }
+        }
+    }
+    
+    /**
+     * The exposition format ends lines with \n; println would use the platform separator
+     */
+    private static void line(PrintWriter out, String text) {
+        out.print(text);
+        out.print('\n');
+    }
+    
+    private static void header(PrintWriter out, String name, String type, String help) {
+        line(out, "# HELP " + name + " " + help);
+        line(out, "# TYPE " + name + " " + type);
+    }
+    
+    private static double seconds(long nanos) {
+        return nanos / NANOS_PER_SECOND;
+    }
+    
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+    
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    private static String baseName(String outputFile) {
+        return outputFile.endsWith(".json") ? outputFile.substring(0, outputFile.length() - 5) : outputFile;
+    }
+}
@@ -0,0 +1,53 @@
+package com.testparser.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Kind of action a test step performs. Declared in classification priority order: when a
+ * method name matches keywords of several actions, the one declared first wins.
+ * Serialized as its lowercase value, e.g. "click".
+ */
+public enum ActionType {
+    CLICK("click"),
+    TYPE("type"),
+    SELECT("select"),
+    WAIT("wait"),
+    ASSERT("assert"),
+    VERIFY("verify"),
+    NAVIGATE("navigate"),
+    DRAG("drag");
+    
+    private final String value;
+    private final String displayName;
+    
+    ActionType(String value) {
+        this.value = value;
+        this.displayName = Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+    
+    @JsonValue
+    public String getValue() { return value; }
+    
+    /**
+     * Capitalized value used at the start of step descriptions, e.g. "Click"
+     */
+    public String getDisplayName() { return displayName; }
+    
+    /**
+     * Assert and verify steps check state rather than act on the page
+     */
+    public boolean isAssertion() {
+        return this == ASSERT || this == VERIFY;
+    }
+    
+    @JsonCreator
+    public static ActionType fromValue(String value) {
+        for (ActionType actionType : values()) {
+            if (actionType.value.equals(value)) {
+                return actionType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown action type: " + value);
+    }
+}
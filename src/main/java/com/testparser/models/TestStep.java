@@ -1,15 +1,19 @@
 package com.testparser.models;
 
+/**
+ * One step of a test case. Selectors and values repeat across thousands of steps, so the
+ * step extractor passes in pooled copies that many steps share.
+ */
 public class TestStep {
     private int stepNumber;
     private String stepDescription;
-    private String actionType;
+    private ActionType actionType;
     private String elementSelector;
     private String value;
     
     public TestStep() {}
     
-    public TestStep(int stepNumber, String stepDescription, String actionType, String elementSelector, String value) {
+    public TestStep(int stepNumber, String stepDescription, ActionType actionType, String elementSelector, String value) {
         this.stepNumber = stepNumber;
         this.stepDescription = stepDescription;
         this.actionType = actionType;
@@ -22,8 +26,8 @@ public class TestStep {
     public void setStepNumber(int stepNumber) { this.stepNumber = stepNumber; }
     public String getStepDescription() { return stepDescription; }
     public void setStepDescription(String stepDescription) { this.stepDescription = stepDescription; }
-    public String getActionType() { return actionType; }
-    public void setActionType(String actionType) { this.actionType = actionType; }
+    public ActionType getActionType() { return actionType; }
+    public void setActionType(ActionType actionType) { this.actionType = actionType; }
     public String getElementSelector() { return elementSelector; }
     public void setElementSelector(String elementSelector) { this.elementSelector = elementSelector; }
     public String getValue() { return value; }
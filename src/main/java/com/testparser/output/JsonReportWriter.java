@@ -0,0 +1,167 @@
+package com.testparser.output;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.testparser.models.PageObject;
+import com.testparser.models.TestCase;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the JSON report to disk. Page objects and config URLs are written first,
+ * test cases are written one at a time as they are extracted, and the summary is
+ * written last from running totals, so memory use does not grow with suite size.
+ * The report is written to a temporary file next to the output and moved over it only
+ * once it is complete, so a failed run leaves the previous report in place.
+ * <p>
+ * With a selector pool, page object elements and step selectors hold integer ids instead
+ * of selector text, and the distinct selectors are written once, in id order, in a
+ * trailing "selectorPool" array. {@link SelectorPoolExpander} converts such a report back.
+ */
+public class JsonReportWriter implements Closeable {
+    
+    public static final String SELECTOR_POOL_FIELD = "selectorPool";
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path outputPath;
+    private final Path tempPath;
+    private final JsonGenerator generator;
+    private final SelectorPool selectorPool;
+    private final SummaryAccumulator summary = new SummaryAccumulator();
+    private Map<String, PageObject> pageObjects;
+    private Map<String, String> configUrls;
+    private boolean committed;
+    
+    /**
+     * Open the output file; the compact profile writes without indentation
+     */
+    public JsonReportWriter(File outputFile, boolean compact) throws IOException {
+        this(outputFile, compact, false);
+    }
+    
+    /**
+     * Open the output file, optionally writing selectors once in a pool referenced by id
+     */
+    public JsonReportWriter(File outputFile, boolean compact, boolean pooledSelectors) throws IOException {
+        this.outputPath = outputFile.getAbsoluteFile().toPath();
+        this.tempPath = outputPath.resolveSibling(outputPath.getFileName() + ".tmp");
+        this.generator = mapper.getFactory().createGenerator(tempPath.toFile(), JsonEncoding.UTF8);
+        this.selectorPool = pooledSelectors ? new SelectorPool() : null;
+        if (!compact) {
+            generator.useDefaultPrettyPrinter();
+        }
+    }
+    
+    /**
+     * Write everything that precedes the test cases and open the test case array
+     */
+    public void writeHeader(Map<String, PageObject> pageObjects, Map<String, String> configUrls) throws IOException {
+        this.pageObjects = pageObjects;
+        this.configUrls = configUrls;
+        
+        generator.writeStartObject();
+        generator.writeFieldName("pageObjects");
+        if (selectorPool != null) {
+            generator.writeTree(pooledPageObjects(pageObjects));
+        } else {
+            generator.writeObject(pageObjects);
+        }
+        generator.writeFieldName("configUrls");
+        generator.writeObject(configUrls);
+        generator.writeFieldName("testCases");
+        generator.writeStartArray();
+    }
+    
+    /**
+     * Write one test case and add it to the summary totals
+     */
+    public void writeTestCase(TestCase testCase) throws IOException {
+        if (selectorPool != null) {
+            generator.writeTree(pooledTestCase(testCase));
+        } else {
+            generator.writeObject(testCase);
+        }
+        summary.add(testCase);
+    }
+    
+    /**
+     * Close the test case array, write the summary and replace the output file with the report
+     */
+    public void finish() throws IOException {
+        generator.writeEndArray();
+        generator.writeFieldName("summary");
+        generator.writeObject(summary.toSummary(pageObjects, configUrls));
+        if (selectorPool != null) {
+            generator.writeFieldName(SELECTOR_POOL_FIELD);
+            generator.writeObject(selectorPool.getSelectors());
+        }
+        generator.writeEndObject();
+        generator.close();
+        
+        try {
+            Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+    }
+    
+    /**
+     * Page objects with each element selector replaced by its pool id
+     */
+    private JsonNode pooledPageObjects(Map<String, PageObject> pageObjects) {
+        ObjectNode tree = mapper.valueToTree(pageObjects);
+        for (JsonNode pageObject : tree) {
+            JsonNode elements = pageObject.get("elements");
+            if (elements instanceof ObjectNode) {
+                List<String> names = new ArrayList<>();
+                elements.fieldNames().forEachRemaining(names::add);
+                for (String name : names) {
+                    poolField((ObjectNode) elements, name);
+                }
+            }
+        }
+        return tree;
+    }
+    
+    /**
+     * A test case with each step selector replaced by its pool id
+     */
+    private JsonNode pooledTestCase(TestCase testCase) {
+        ObjectNode tree = mapper.valueToTree(testCase);
+        for (JsonNode step : tree.path("steps")) {
+            poolField((ObjectNode) step, "elementSelector");
+        }
+        return tree;
+    }
+    
+    private void poolField(ObjectNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value != null && value.isTextual()) {
+            node.put(field, selectorPool.idOf(value.textValue()));
+        }
+    }
+    
+    /**
+     * Close the writer; a report that was never finished is discarded
+     */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        if (!committed) {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+}
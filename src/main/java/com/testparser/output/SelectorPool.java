@@ -0,0 +1,38 @@
+package com.testparser.output;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distinct selectors in order of first use. A selector's id is its position in the pool,
+ * so the pooled report can refer to it by number.
+ */
+public class SelectorPool {
+    
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> selectors = new ArrayList<>();
+    
+    /**
+     * Id of a selector, adding it to the pool on first use
+     */
+    public int idOf(String selector) {
+        Integer id = ids.get(selector);
+        if (id == null) {
+            id = selectors.size();
+            ids.put(selector, id);
+            selectors.add(selector);
+        }
+        return id;
+    }
+    
+    public List<String> getSelectors() {
+        return Collections.unmodifiableList(selectors);
+    }
+    
+    public int size() {
+        return selectors.size();
+    }
+}
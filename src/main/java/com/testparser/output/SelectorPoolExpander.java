@@ -0,0 +1,102 @@
+package com.testparser.output;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a report written with --selector-pool back into the regular format by replacing
+ * every selector id with the selector it refers to and dropping the pool.
+ * Usage: java -cp selenium-test-parser.jar com.testparser.output.SelectorPoolExpander
+ *        &lt;pooled.json&gt; &lt;output.json&gt; [--compact]
+ */
+public class SelectorPoolExpander {
+    
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: SelectorPoolExpander <pooled-report.json> <output-file> [--compact]");
+            System.exit(1);
+        }
+        
+        boolean compact = args.length > 2 && args[2].equals("--compact");
+        try {
+            expand(new File(args[0]), new File(args[1]), compact);
+            System.out.println("Expanded report written to: " + args[1]);
+        } catch (IOException e) {
+            System.err.println("Error expanding report: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Read a pooled report and write it in the regular format
+     */
+    public static void expand(File pooledReport, File outputFile, boolean compact) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode report = expand(mapper.readTree(pooledReport));
+        if (compact) {
+            mapper.writeValue(outputFile, report);
+        } else {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(outputFile, report);
+        }
+    }
+    
+    /**
+     * Replace selector ids in the report tree in place; reports without a pool are returned unchanged
+     */
+    public static JsonNode expand(JsonNode report) {
+        if (!report.has(JsonReportWriter.SELECTOR_POOL_FIELD)) {
+            return report;
+        }
+        
+        List<String> pool = new ArrayList<>();
+        for (JsonNode selector : report.get(JsonReportWriter.SELECTOR_POOL_FIELD)) {
+            pool.add(selector.asText());
+        }
+        
+        // Page object elements: name -> selector id
+        for (JsonNode pageObject : report.path("pageObjects")) {
+            JsonNode elements = pageObject.get("elements");
+            if (elements instanceof ObjectNode) {
+                List<String> names = new ArrayList<>();
+                elements.fieldNames().forEachRemaining(names::add);
+                for (String name : names) {
+                    expandField((ObjectNode) elements, name, pool);
+                }
+            }
+        }
+        
+        // Step selectors
+        for (JsonNode testCase : report.path("testCases")) {
+            JsonNode steps = testCase.get("steps");
+            if (steps instanceof ArrayNode) {
+                for (JsonNode step : steps) {
+                    if (step instanceof ObjectNode) {
+                        expandField((ObjectNode) step, "elementSelector", pool);
+                    }
+                }
+            }
+        }
+        
+        ((ObjectNode) report).remove(JsonReportWriter.SELECTOR_POOL_FIELD);
+        return report;
+    }
+    
+    private static void expandField(ObjectNode node, String field, List<String> pool) {
+        JsonNode value = node.get(field);
+        if (value != null && value.isInt()) {
+            int id = value.intValue();
+            if (id < 0 || id >= pool.size()) {
+                throw new IllegalArgumentException("Selector id " + id + " is not in the selector pool");
+            }
+            node.set(field, TextNode.valueOf(pool.get(id)));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.testparser.output;
+
+import com.testparser.models.PageObject;
+import com.testparser.models.TestCase;
+import com.testparser.models.TestStep;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Running totals for the report summary, updated one test case at a time
+ * so the test cases themselves do not need to be kept.
+ */
+public class SummaryAccumulator {
+    
+    private int totalTestCases;
+    private int totalSteps;
+    private long testCasesWithUrls;
+    private final Map<String, Long> actionCounts = new HashMap<>();
+    private final Set<String> uniqueUrls = new LinkedHashSet<>();
+    private final Map<String, Long> urlCounts = new HashMap<>();
+    
+    /**
+     * Add one test case to the totals
+     */
+    public void add(TestCase testCase) {
+        totalTestCases++;
+        
+        // Count steps and action types used in test steps
+        totalSteps += testCase.getSteps().size();
+        for (TestStep step : testCase.getSteps()) {
+            String actionType = step.getActionType() != null ? step.getActionType().getValue() : "unknown";
+            actionCounts.merge(actionType, 1L, Long::sum);
+        }
+        
+        // Count test cases with URLs and group them by URL
+        String url = testCase.getTestURL();
+        if (url != null && !url.trim().isEmpty()) {
+            testCasesWithUrls++;
+            uniqueUrls.add(url);
+            urlCounts.merge(url, 1L, Long::sum);
+        }
+    }
+    
+    /**
+     * Creates summary statistics for the accumulated test cases and the page objects.
+     */
+    public Map<String, Object> toSummary(Map<String, PageObject> pageObjects, Map<String, String> configUrls) {
+        Map<String, Object> summary = new HashMap<>();
+        
+        // Count totals
+        summary.put("totalTestCases", totalTestCases);
+        summary.put("totalPageObjects", pageObjects.size());
+        summary.put("totalConfigUrls", configUrls.size());
+        summary.put("totalSteps", totalSteps);
+        summary.put("actionTypeCounts", actionCounts);
+        summary.put("testCasesWithUrls", testCasesWithUrls);
+        summary.put("testCasesWithoutUrls", totalTestCases - testCasesWithUrls);
+        
+        // List unique URLs found
+        summary.put("uniqueUrls", new ArrayList<>(uniqueUrls));
+        summary.put("uniqueUrlCount", uniqueUrls.size());
+        summary.put("testCasesByUrl", urlCounts);
+        
+        // Add page object element counts
+        Map<String, Integer> pageObjectElementCounts = new HashMap<>();
+        int totalElements = 0;
+        for (Map.Entry<String, PageObject> entry : pageObjects.entrySet()) {
+            int elementCount = entry.getValue().getElements().size();
+            pageObjectElementCounts.put(entry.getKey(), elementCount);
+            totalElements += elementCount;
+        }
+        summary.put("pageObjectElementCounts", pageObjectElementCounts);
+        summary.put("totalElements", totalElements);
+        
+        // Add config URLs information
+        summary.put("configUrls", configUrls);
+        
+        return summary;
+    }
+}
@@ -3,10 +3,10 @@ package com.testparser.utils;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.File;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Properties;
 
 public class ConfigPropertiesReader {
@@ -28,34 +28,11 @@ public class ConfigPropertiesReader {
         return urls;
     }
 
-    private static Optional<File> findConfigFileDFS(File dir) {
-        if (dir == null || !dir.exists() || !dir.isDirectory()) {
-            return Optional.empty();
-        }
-
-        File[] files = dir.listFiles();
-        if (files == null) {
-            return Optional.empty();
-        }
-
-        for (File file : files) {
-            if (file.isFile()) {
-                String name = file.getName().toLowerCase();
-                if (name.equals("config.properties")) {
-                    return Optional.of(file);
-                }
-            } else if (file.isDirectory()) {
-                Optional<File> found = findConfigFileDFS(file);
-                if (found.isPresent()) {
-                    return found;
-                }
-            }
-        }
-
-        return Optional.empty();
+    public static Map<String, String> loadUrlsFromProject(String projectPath) throws IOException {
+        return loadUrlsFromProject(projectPath, ProjectFileWalker.walk(projectPath));
     }
 
-    public static Map<String, String> loadUrlsFromProject(String projectPath) throws IOException {
+    public static Map<String, String> loadUrlsFromProject(String projectPath, ProjectFiles projectFiles) throws IOException {
         String[] possiblePaths = {
             projectPath + "/config.properties",
             projectPath + "/Config.properties",
@@ -73,9 +50,9 @@ public class ConfigPropertiesReader {
             } catch (IOException ignored) {}
         }
 
-        Optional<File> configFile = findConfigFileDFS(new File(projectPath));
-        if (configFile.isPresent()) {
-            return loadUrls(configFile.get().getAbsolutePath());
+        List<Path> configFiles = projectFiles.getConfigFiles();
+        if (!configFiles.isEmpty()) {
+            return loadUrls(configFiles.get(0).toAbsolutePath().toString());
         }
 
         return new HashMap<>();
@@ -0,0 +1,185 @@
+package com.testparser.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Work-stealing pool used to run per-file extraction tasks, with a separate set of threads
+ * for the file reads of staged work. Results are always returned in input order so output
+ * does not depend on scheduling.
+ */
+public class ExtractionPool implements AutoCloseable {
+    
+    private final ForkJoinPool pool;
+    private final ExecutorService ioExecutor;
+    private final int queueDepth;
+    
+    public ExtractionPool(int workerCount) {
+        this(workerCount, defaultIoThreadCount(workerCount), defaultQueueDepth(workerCount));
+    }
+    
+    /**
+     * Pool with workerCount threads for parsing and extraction and ioThreadCount threads for
+     * reading files; at most queueDepth files are between the first stage and the consumer
+     */
+    public ExtractionPool(int workerCount, int ioThreadCount, int queueDepth) {
+        if (queueDepth < 1) {
+            throw new IllegalArgumentException("Queue depth must be at least 1: " + queueDepth);
+        }
+        // A single worker runs tasks inline on the calling thread
+        this.pool = workerCount > 1 ? new ForkJoinPool(workerCount) : null;
+        this.ioExecutor = pool != null && ioThreadCount > 0 ? newIoExecutor(ioThreadCount) : null;
+        this.queueDepth = queueDepth;
+    }
+    
+    /**
+     * Reads are mostly waiting on the file system, so a few threads are enough to keep parsing busy
+     */
+    public static int defaultIoThreadCount(int workerCount) {
+        return Math.min(4, workerCount);
+    }
+    
+    public static int defaultQueueDepth(int workerCount) {
+        return Math.max(1, workerCount) * 4;
+    }
+    
+    public static ExtractionPool sequential() {
+        return new ExtractionPool(1);
+    }
+    
+    public int getParallelism() {
+        return pool != null ? pool.getParallelism() : 1;
+    }
+    
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+    
+    /**
+     * Apply the task to every item and hand the results to the consumer in the order of the
+     * items, on the calling thread. Only a bounded window of tasks runs ahead of the consumer,
+     * so completed results do not pile up when an early item is slow.
+     */
+    public <T, R> void forEachOrdered(List<T> items, Function<? super T, ? extends R> task, 
+                                      Consumer<? super R> consumer) {
+        if (pool == null || items.size() < 2) {
+            for (T item : items) {
+                consumer.accept(task.apply(item));
+            }
+            return;
+        }
+        
+        Deque<ForkJoinTask<? extends R>> running = new ArrayDeque<>(queueDepth);
+        Iterator<T> pending = items.iterator();
+        while (pending.hasNext() || !running.isEmpty()) {
+            while (running.size() < queueDepth && pending.hasNext()) {
+                T item = pending.next();
+                running.addLast(pool.submit(() -> task.apply(item)));
+            }
+            consumer.accept(running.removeFirst().join());
+        }
+    }
+    
+    /**
+     * Run every item through an I/O stage on the I/O threads and then a CPU stage on the
+     * workers, and hand the results to the consumer in the order of the items, on the calling
+     * thread. Reads of later items overlap with parsing of earlier ones, and at most queueDepth
+     * items are in flight at once, so memory held by read sources and parsed ASTs is bounded
+     * by the queue depth rather than by the number of items.
+     */
+    public <T, S, R> void forEachStaged(List<T> items, Function<? super T, ? extends S> ioStage, 
+                                        Function<? super S, ? extends R> cpuStage, Consumer<? super R> consumer) {
+        if (pool == null || items.size() < 2) {
+            for (T item : items) {
+                consumer.accept(cpuStage.apply(ioStage.apply(item)));
+            }
+            return;
+        }
+        
+        // Without I/O threads reads run on the workers like any other task
+        Executor reader = ioExecutor != null ? ioExecutor : pool;
+        Deque<CompletableFuture<? extends R>> inFlight = new ArrayDeque<>(queueDepth);
+        Iterator<T> pending = items.iterator();
+        while (pending.hasNext() || !inFlight.isEmpty()) {
+            while (inFlight.size() < queueDepth && pending.hasNext()) {
+                T item = pending.next();
+                inFlight.addLast(CompletableFuture.<S>supplyAsync(() -> ioStage.apply(item), reader)
+                        .thenApplyAsync(cpuStage, pool));
+            }
+            consumer.accept(join(inFlight.removeFirst()));
+        }
+    }
+    
+    /**
+     * Run the task for every item together with its index, waiting for all of them to finish
+     */
+    public <T> void forEachIndexed(List<T> items, ObjIntConsumer<? super T> task) {
+        if (pool == null || items.size() < 2) {
+            for (int i = 0; i < items.size(); i++) {
+                task.accept(items.get(i), i);
+            }
+            return;
+        }
+        
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            int index = i;
+            tasks.add(pool.submit(() -> task.accept(item, index)));
+        }
+        for (ForkJoinTask<?> submitted : tasks) {
+            submitted.join();
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+        }
+    }
+    
+    /**
+     * Wait for a staged result, rethrowing what a stage threw instead of the completion wrapper
+     */
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+    
+    private static ExecutorService newIoExecutor(int ioThreadCount) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(ioThreadCount, task -> {
+            Thread thread = new Thread(task, "extraction-io-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package com.testparser.utils;
+
+import com.testparser.cache.ExtractionCache;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Walks a project tree once and classifies every file for the downstream extractors
+ */
+public class ProjectFileWalker {
+    
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of(
+            ".git", ".svn", ".hg", ExtractionCache.DEFAULT_DIRECTORY);
+    
+    /**
+     * Walk the project directory and return the classified file lists
+     */
+    public static ProjectFiles walk(String projectPath) throws IOException {
+        Path root = Paths.get(projectPath);
+        ProjectFiles projectFiles = new ProjectFiles(root);
+        
+        if (!Files.isDirectory(root)) {
+            return projectFiles;
+        }
+        
+        Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                new ClassifyingVisitor(root, projectFiles));
+        return projectFiles;
+    }
+    
+    /**
+     * True for directories that never contain project sources, such as VCS metadata
+     */
+    public static boolean isSkippedDirectory(String dirName) {
+        return SKIPPED_DIRECTORIES.contains(dirName);
+    }
+    
+    /**
+     * Tracks page/test folder membership per directory so files never walk their parents again
+     */
+    private static class ClassifyingVisitor extends SimpleFileVisitor<Path> {
+        private final Path root;
+        private final ProjectFiles projectFiles;
+        private final Deque<DirectoryKind> directories = new ArrayDeque<>();
+        
+        ClassifyingVisitor(Path root, ProjectFiles projectFiles) {
+            this.root = root;
+            this.projectFiles = projectFiles;
+        }
+        
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (dir.equals(root)) {
+                // The project path itself may already be inside a page or test folder
+                DirectoryKind kind = new DirectoryKind(false, false);
+                for (Path name : root) {
+                    kind = kind.enter(name.toString());
+                }
+                directories.push(kind);
+                return FileVisitResult.CONTINUE;
+            }
+            
+            String dirName = dir.getFileName().toString();
+            if (isSkippedDirectory(dirName)) {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+            
+            directories.push(directories.peek().enter(dirName));
+            return FileVisitResult.CONTINUE;
+        }
+        
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+            directories.pop();
+            return FileVisitResult.CONTINUE;
+        }
+        
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (!attrs.isRegularFile()) {
+                return FileVisitResult.CONTINUE;
+            }
+            
+            String fileName = file.getFileName().toString();
+            if (fileName.endsWith(".java")) {
+                DirectoryKind kind = directories.peek();
+                projectFiles.addJavaFile(file, kind.inPageDirectory, kind.inTestDirectory || isTestFileName(fileName));
+            } else if (fileName.toLowerCase().equals("config.properties")) {
+                projectFiles.addConfigFile(file);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+        
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+            // Unreadable entries and symlink loops are skipped, like File.listFiles() returning null
+            return FileVisitResult.CONTINUE;
+        }
+    }
+    
+    /**
+     * Check filename patterns (Test prefix or Test/Tests suffix)
+     */
+    private static boolean isTestFileName(String fileName) {
+        return fileName.startsWith("Test") || 
+               fileName.endsWith("Test.java") || 
+               fileName.endsWith("Tests.java");
+    }
+    
+    /**
+     * Whether a directory is (or is nested in) a page/pages or test/tests folder
+     */
+    private static class DirectoryKind {
+        final boolean inPageDirectory;
+        final boolean inTestDirectory;
+        
+        DirectoryKind(boolean inPageDirectory, boolean inTestDirectory) {
+            this.inPageDirectory = inPageDirectory;
+            this.inTestDirectory = inTestDirectory;
+        }
+        
+        DirectoryKind enter(String dirName) {
+            String lowerName = dirName.toLowerCase();
+            return new DirectoryKind(
+                inPageDirectory || lowerName.equals("page") || lowerName.equals("pages"),
+                inTestDirectory || lowerName.equals("test") || lowerName.equals("tests"));
+        }
+    }
+}
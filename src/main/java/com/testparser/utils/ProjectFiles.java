@@ -0,0 +1,60 @@
+package com.testparser.utils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Files discovered in a project, classified once by {@link ProjectFileWalker}.
+ * All lists keep the order in which the walker visited the files.
+ */
+public class ProjectFiles {
+    private final Path projectRoot;
+    private final List<Path> pageObjectCandidates = new ArrayList<>();
+    private final Set<Path> pageDirectoryFiles = new HashSet<>();
+    private final List<Path> testFiles = new ArrayList<>();
+    private final Set<Path> testFileSet = new HashSet<>();
+    private final List<Path> configFiles = new ArrayList<>();
+    
+    public ProjectFiles(Path projectRoot) {
+        this.projectRoot = projectRoot;
+    }
+    
+    public Path getProjectRoot() { return projectRoot; }
+    
+    /**
+     * Every Java file in the project; files outside page/pages folders still need a content check
+     */
+    public List<Path> getPageObjectCandidates() { return pageObjectCandidates; }
+    
+    /**
+     * True if the file sits under a page/pages folder and is a page object by location alone
+     */
+    public boolean isInPageDirectory(Path file) { return pageDirectoryFiles.contains(file); }
+    
+    public List<Path> getTestFiles() { return testFiles; }
+    
+    /**
+     * True if the file is one of the test files
+     */
+    public boolean isTestFile(Path file) { return testFileSet.contains(file); }
+    
+    public List<Path> getConfigFiles() { return configFiles; }
+    
+    void addJavaFile(Path file, boolean inPageDirectory, boolean isTestFile) {
+        pageObjectCandidates.add(file);
+        if (inPageDirectory) {
+            pageDirectoryFiles.add(file);
+        }
+        if (isTestFile) {
+            testFiles.add(file);
+            testFileSet.add(file);
+        }
+    }
+    
+    void addConfigFile(Path file) {
+        configFiles.add(file);
+    }
+}
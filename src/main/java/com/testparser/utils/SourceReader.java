@@ -0,0 +1,117 @@
+package com.testparser.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads source files through a FileChannel and decodes them with a configurable charset.
+ * Files are read into a direct buffer pooled per thread, so reading a typical source file
+ * allocates nothing on the heap; larger files continue into a heap buffer. Files are never
+ * memory-mapped, since a mapping keeps the file locked on Windows until it is garbage
+ * collected. The channel is closed before read returns.
+ */
+public class SourceReader {
+    
+    public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    
+    private static final int BUFFER_SIZE = 256 * 1024;
+    
+    private static final ThreadLocal<ByteBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+    
+    private static final String ASCII_SAMPLE =
+            " \t\r\n!\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~";
+    
+    private final Charset charset;
+    private final boolean asciiCompatible;
+    private final ThreadLocal<CharsetDecoder> decoders;
+    
+    public SourceReader() {
+        this(DEFAULT_CHARSET);
+    }
+    
+    public SourceReader(Charset charset) {
+        this.charset = charset;
+        this.asciiCompatible = isAsciiCompatible(charset);
+        this.decoders = ThreadLocal.withInitial(() -> charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    }
+    
+    public Charset getCharset() { return charset; }
+    
+    /**
+     * True if every ASCII character is encoded as its own single byte and no byte of a
+     * non-ASCII character falls in the ASCII range, so Java syntax can be scanned without decoding
+     */
+    public boolean isAsciiCompatible() { return asciiCompatible; }
+    
+    /**
+     * Read the whole file. Files that fit land in this thread's pooled buffer, which stays valid
+     * only until the next read on the same thread; callers must be done with it by then.
+     */
+    public static ByteBuffer read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = BUFFERS.get();
+            buffer.clear();
+            // Read until end of file instead of trusting the size, which can change while reading
+            while (channel.read(buffer) >= 0) {
+                if (!buffer.hasRemaining()) {
+                    buffer = grow(buffer, channel.size());
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+    
+    /**
+     * Copy a full buffer into a heap buffer with room for the rest of the file and then some,
+     * so the read that reports end of file never finds the buffer full
+     */
+    private static ByteBuffer grow(ByteBuffer full, long sizeHint) throws IOException {
+        long capacity = Math.max(Math.min(2L * full.capacity(), Integer.MAX_VALUE - 8), sizeHint + 1);
+        if (capacity > Integer.MAX_VALUE - 8 || capacity <= full.capacity()) {
+            throw new IOException("Source file too large to read: " + sizeHint + " bytes");
+        }
+        ByteBuffer larger = ByteBuffer.allocate((int) capacity);
+        full.flip();
+        larger.put(full);
+        return larger;
+    }
+    
+    /**
+     * Decode the remaining bytes of the buffer without moving its position.
+     * Malformed input is replaced, as new String(bytes, charset) would.
+     */
+    public String decode(ByteBuffer bytes) {
+        try {
+            CharBuffer chars = decoders.get().reset().decode(bytes.duplicate());
+            return chars.toString();
+        } catch (CharacterCodingException e) {
+            // Cannot happen with REPLACE actions
+            throw new IllegalStateException("Could not decode source as " + charset, e);
+        }
+    }
+    
+    private static boolean isAsciiCompatible(Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return true;
+        }
+        // Multi-byte charsets such as Shift_JIS may reuse ASCII byte values inside other characters
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() > 1) {
+            return false;
+        }
+        return Arrays.equals(ASCII_SAMPLE.getBytes(charset), ASCII_SAMPLE.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,37 @@
+package com.testparser.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares one copy of strings that repeat across a run, such as selectors used by thousands
+ * of steps. Unlike String.intern the strings are released together with the pool, and the
+ * pool stops growing at a fixed size, after which new text is returned unchanged.
+ */
+public class StringPool {
+    
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+    private final int capacity;
+    
+    public StringPool(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    /**
+     * The pooled copy of the text, or the text itself if it is new and the pool is full
+     */
+    public String pooled(String text) {
+        if (text == null) {
+            return null;
+        }
+        String existing = strings.get(text);
+        if (existing != null) {
+            return existing;
+        }
+        if (strings.size() >= capacity) {
+            return text;
+        }
+        existing = strings.putIfAbsent(text, text);
+        return existing != null ? existing : text;
+    }
+}